@@ -0,0 +1,141 @@
+package game.benchmarks;
+
+import game.Game;
+import game.entities.Pacman;
+import game.entities.ghosts.Ghost;
+import game.ghostStates.GhostState;
+import game.utils.Utils;
+import game.utils.WallCollisionDetector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Cost of one direction decision of a chasing ghost standing still on a random tile where it fits (so that every open direction is a candidate) :
+//GhostState.computeNextDir, which computes the target once, against the former routine which asked for it twice per candidate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class GhostDecisionBenchmark {
+    private static final int SCENARIOS = 256;
+
+    @Param({"Blinky", "Pinky", "Inky", "Clyde"})
+    public String ghostName;
+
+    private Pacman pacman;
+    private Ghost ghost;
+
+    private final int[] pacmanX = new int[SCENARIOS];
+    private final int[] pacmanY = new int[SCENARIOS];
+    private final int[] ghostX = new int[SCENARIOS];
+    private final int[] ghostY = new int[SCENARIOS];
+
+    @Setup
+    public void setup() {
+        Game game = new Game();
+        pacman = game.getPacman();
+        for (Ghost g : game.getGhosts()) {
+            if (g.getClass().getSimpleName().equals(ghostName)) ghost = g;
+        }
+        ghost.switchChaseMode();
+
+        List<int[]> walkable = new ArrayList<>();
+        for (int tx = 0; tx < game.getWidth() / 8; tx++) {
+            for (int ty = 0; ty < game.getHeight() / 8; ty++) {
+                if (!game.getWallGrid().intersects(tx * 8, ty * 8, ghost.getSize(), false)) walkable.add(new int[]{tx * 8, ty * 8});
+            }
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < SCENARIOS; i++) {
+            int[] p = walkable.get(random.nextInt(walkable.size()));
+            int[] g = walkable.get(random.nextInt(walkable.size()));
+            pacmanX[i] = p[0];
+            pacmanY[i] = p[1];
+            ghostX[i] = g[0];
+            ghostY[i] = g[1];
+        }
+    }
+
+    private void place(int i) {
+        pacman.setPosition(pacmanX[i], pacmanY[i]);
+        ghost.setPosition(ghostX[i], ghostY[i]);
+        ghost.setxSpd(0);
+        ghost.setySpd(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCENARIOS)
+    public void targetOnce(Blackhole bh) {
+        for (int i = 0; i < SCENARIOS; i++) {
+            place(i);
+            ghost.getState().computeNextDir();
+            bh.consume(ghost.getxSpd() + ghost.getySpd());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCENARIOS)
+    public void targetPerCandidate(Blackhole bh) {
+        for (int i = 0; i < SCENARIOS; i++) {
+            place(i);
+            legacyComputeNextDir(ghost);
+            bh.consume(ghost.getxSpd() + ghost.getySpd());
+        }
+    }
+
+    //Former GhostState.computeNextDir (HouseMode and EatenMode only differed by ignoring the ghost house doors)
+    private static void legacyComputeNextDir(Ghost ghost) {
+        GhostState state = ghost.getState();
+        boolean ignoreGhostHouses = state.ignoresGhostHouses();
+        int new_xSpd = 0;
+        int new_ySpd = 0;
+
+        if (!ghost.onTheGrid()) return;
+        if (!ghost.onGameplayWindow()) return;
+
+        double minDist = Double.MAX_VALUE;
+
+        if (ghost.getxSpd() <= 0 && !WallCollisionDetector.checkWallCollision(ghost, -ghost.getSpd(), 0, ignoreGhostHouses)) {
+            double distance = Utils.getDistance(ghost.getxPos() - ghost.getSpd(), ghost.getyPos(), state.getTargetPosition()[0], state.getTargetPosition()[1]);
+            if (distance < minDist) {
+                new_xSpd = -ghost.getSpd();
+                new_ySpd = 0;
+                minDist = distance;
+            }
+        }
+        if (ghost.getxSpd() >= 0 && !WallCollisionDetector.checkWallCollision(ghost, ghost.getSpd(), 0, ignoreGhostHouses)) {
+            double distance = Utils.getDistance(ghost.getxPos() + ghost.getSpd(), ghost.getyPos(), state.getTargetPosition()[0], state.getTargetPosition()[1]);
+            if (distance < minDist) {
+                new_xSpd = ghost.getSpd();
+                new_ySpd = 0;
+                minDist = distance;
+            }
+        }
+        if (ghost.getySpd() <= 0 && !WallCollisionDetector.checkWallCollision(ghost, 0, -ghost.getSpd(), ignoreGhostHouses)) {
+            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() - ghost.getSpd(), state.getTargetPosition()[0], state.getTargetPosition()[1]);
+            if (distance < minDist) {
+                new_xSpd = 0;
+                new_ySpd = -ghost.getSpd();
+                minDist = distance;
+            }
+        }
+        if (ghost.getySpd() >= 0 && !WallCollisionDetector.checkWallCollision(ghost, 0, ghost.getSpd(), ignoreGhostHouses)) {
+            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() + ghost.getSpd(), state.getTargetPosition()[0], state.getTargetPosition()[1]);
+            if (distance < minDist) {
+                new_xSpd = 0;
+                new_ySpd = ghost.getSpd();
+            }
+        }
+
+        if (new_xSpd == 0 && new_ySpd == 0) return;
+        ghost.setxSpd(new_xSpd);
+        ghost.setySpd(new_ySpd);
+    }
+}
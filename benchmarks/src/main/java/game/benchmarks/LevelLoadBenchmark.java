@@ -0,0 +1,54 @@
+package game.benchmarks;
+
+import game.level.Level;
+import game.level.LevelIO;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+//Compares loading the same generated maze from its csv file and from its memory-mapped binary file
+//Each load reads every tile once, as Game does when it builds the entities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class LevelLoadBenchmark {
+    //Rooms of the generated maze (each room is 5 tiles wide) : about the real level, then 10x and 200x its tiles
+    @Param({"11x12", "40x40", "160x160"})
+    public String rooms;
+
+    private URI csv;
+    private URI binary;
+
+    @Setup
+    public void setup() {
+        String[] size = rooms.split("x");
+        int roomsX = Integer.parseInt(size[0]);
+        int roomsY = Integer.parseInt(size[1]);
+        csv = SyntheticMaze.write(roomsX, roomsY, 42);
+        binary = SyntheticMaze.writeBinary(roomsX, roomsY, 42);
+    }
+
+    @Benchmark
+    public int csv() {
+        return walls(LevelIO.load(csv));
+    }
+
+    @Benchmark
+    public int binary() {
+        return walls(LevelIO.load(binary));
+    }
+
+    private static int walls(Level level) {
+        int walls = 0;
+        for (int x = 0; x < level.getCols(); x++) {
+            for (int y = 0; y < level.getRows(); y++) {
+                if (level.tile(x, y) == 'x') walls++;
+            }
+        }
+        return walls;
+    }
+}
@@ -0,0 +1,88 @@
+package game.benchmarks;
+
+import game.Game;
+import game.entities.Pacman;
+import game.entities.ghosts.Ghost;
+import game.utils.MazeGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Throughput of each ghost's getChaseTargetPosition, with Pac-Man and the ghost on random walkable tiles,
+//on the real level and on larger synthetic mazes (see SyntheticMaze)
+//Run with "-prof gc" to get the allocation rate of each strategy as well
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Djava.awt.headless=true", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PathfindingBenchmark {
+    private static final int SCENARIOS = 256;
+
+    @Param({"Blinky", "Pinky", "Inky", "Clyde"})
+    public String ghostName;
+
+    //"level" for level.csv, or the number of rooms of a synthetic maze (81x96 and 111x121 tiles)
+    @Param({"level", "16x19", "22x24"})
+    public String maze;
+
+    private Pacman pacman;
+    private Ghost ghost;
+
+    private final int[] pacmanX = new int[SCENARIOS];
+    private final int[] pacmanY = new int[SCENARIOS];
+    private final int[] pacmanDirection = new int[SCENARIOS];
+    private final int[] ghostX = new int[SCENARIOS];
+    private final int[] ghostY = new int[SCENARIOS];
+
+    @Setup
+    public void setup() {
+        Game game;
+        if (maze.equals("level")) {
+            game = new Game();
+        } else {
+            String[] rooms = maze.split("x");
+            game = new Game(null, SyntheticMaze.write(Integer.parseInt(rooms[0]), Integer.parseInt(rooms[1]), 42), 42);
+        }
+
+        pacman = game.getPacman();
+        for (Ghost g : game.getGhosts()) {
+            if (g.getClass().getSimpleName().equals(ghostName)) ghost = g;
+        }
+
+        MazeGraph graph = game.getMazeGraph();
+        List<int[]> walkable = new ArrayList<>();
+        for (int tx = 0; tx < graph.getCols(); tx++) {
+            for (int ty = 0; ty < graph.getRows(); ty++) {
+                if (graph.isWalkable(tx, ty)) walkable.add(new int[]{tx * 8, ty * 8});
+            }
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < SCENARIOS; i++) {
+            int[] p = walkable.get(random.nextInt(walkable.size()));
+            int[] g = walkable.get(random.nextInt(walkable.size()));
+            pacmanX[i] = p[0];
+            pacmanY[i] = p[1];
+            pacmanDirection[i] = random.nextInt(4);
+            ghostX[i] = g[0];
+            ghostY[i] = g[1];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCENARIOS)
+    public void chaseTarget(Blackhole bh) {
+        for (int i = 0; i < SCENARIOS; i++) {
+            pacman.setPosition(pacmanX[i], pacmanY[i]);
+            pacman.setDirection(pacmanDirection[i]);
+            ghost.setPosition(ghostX[i], ghostY[i]);
+            bh.consume(ghost.getStrategy().getChaseTargetPosition());
+        }
+    }
+}
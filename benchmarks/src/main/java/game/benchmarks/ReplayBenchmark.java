@@ -0,0 +1,51 @@
+package game.benchmarks;
+
+import game.replay.InputRecorder;
+import game.replay.InputRecording;
+import game.replay.ReplayRunner;
+import game.simulation.RandomPacmanController;
+import game.simulation.SimulationEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Replays ten minutes of recorded play (36,000 ticks at 60 ticks per second) on the headless loop
+//Random play rarely survives more than a few thousand ticks, so the ten minutes are made of as many recorded games as needed
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ReplayBenchmark {
+    private static final int SESSION_TICKS = 10 * 60 * 60;
+
+    private final List<InputRecording> recordings = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        int ticks = 0;
+        for (int seed = 0; ticks < SESSION_TICKS; seed++) {
+            RandomPacmanController player = new RandomPacmanController(seed, 40);
+            InputRecorder recorder = new InputRecorder(seed);
+            new SimulationEngine((game, keys, tick) -> {
+                player.nextInput(game, keys, tick);
+                recorder.record(InputRecording.mask(keys));
+            }, SESSION_TICKS - ticks, seed).run();
+
+            InputRecording recording = recorder.toRecording();
+            recordings.add(recording);
+            ticks += recording.getTicks();
+        }
+    }
+
+    @Benchmark
+    public void replayTenMinutes(Blackhole bh) {
+        for (InputRecording recording : recordings) {
+            bh.consume(ReplayRunner.replay(recording));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package game.benchmarks;
+
+import game.level.LevelIO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+//Level files (csv or binary) of arbitrary size, in the format of level.csv, to see how the pathfinders scale past the real maze
+//A grid of rooms 4 tiles wide (the size of an entity) separated by 1-tile walls, carved into a maze by a depth-first search
+//then braided by knocking down extra walls, so that there are several paths between two tiles as in the real level
+final class SyntheticMaze {
+    private static final int PITCH = 5;
+    private static final double BRAID = 0.15;
+
+    private SyntheticMaze() {}
+
+    //Writes a maze of "roomsX" x "roomsY" rooms to a temporary csv file ; the same seed always gives the same maze
+    static URI write(int roomsX, int roomsY, long seed) {
+        try {
+            Path file = Files.createTempFile("maze-" + roomsX + "x" + roomsY + "-", ".csv");
+            file.toFile().deleteOnExit();
+            Files.write(file, generate(roomsX, roomsY, seed).getBytes(StandardCharsets.UTF_8));
+            return file.toUri();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Same maze, converted to the binary level format (".lvl")
+    static URI writeBinary(int roomsX, int roomsY, long seed) {
+        try {
+            Path file = Files.createTempFile("maze-" + roomsX + "x" + roomsY + "-", ".lvl");
+            file.toFile().deleteOnExit();
+            LevelIO.writeBinary(LevelIO.readCsv(write(roomsX, roomsY, seed)), file);
+            return file.toUri();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String generate(int roomsX, int roomsY, long seed) {
+        int cols = roomsX * PITCH + 1;
+        int rows = roomsY * PITCH + 1;
+        char[][] tiles = new char[rows][cols];
+        for (char[] row : tiles) Arrays.fill(row, 'x');
+
+        for (int rx = 0; rx < roomsX; rx++) {
+            for (int ry = 0; ry < roomsY; ry++) {
+                fill(tiles, rx * PITCH + 1, ry * PITCH + 1, PITCH - 1, PITCH - 1, '.');
+            }
+        }
+
+        Random random = new Random(seed);
+        boolean[][] visited = new boolean[roomsX][roomsY];
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, 0});
+        visited[0][0] = true;
+
+        int[][] dirs = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!stack.isEmpty()) {
+            int[] room = stack.peek();
+            int start = random.nextInt(4);
+            boolean carved = false;
+            for (int i = 0; i < 4 && !carved; i++) {
+                int[] d = dirs[(start + i) % 4];
+                int nx = room[0] + d[0];
+                int ny = room[1] + d[1];
+                if (nx < 0 || ny < 0 || nx >= roomsX || ny >= roomsY || visited[nx][ny]) continue;
+
+                openWall(tiles, room[0], room[1], d);
+                visited[nx][ny] = true;
+                stack.push(new int[]{nx, ny});
+                carved = true;
+            }
+            if (!carved) stack.pop();
+        }
+
+        for (int rx = 0; rx < roomsX; rx++) {
+            for (int ry = 0; ry < roomsY; ry++) {
+                if (rx + 1 < roomsX && random.nextDouble() < BRAID) openWall(tiles, rx, ry, dirs[0]);
+                if (ry + 1 < roomsY && random.nextDouble() < BRAID) openWall(tiles, rx, ry, dirs[2]);
+            }
+        }
+
+        //Pac-Man in the top left room, the ghosts around the middle, a SuperPacGum in each corner
+        tiles[1][1] = 'P';
+        int midX = (roomsX / 2) * PITCH + 1;
+        int midY = (roomsY / 2) * PITCH + 1;
+        tiles[midY][midX] = 'b';
+        tiles[midY][midX + 1] = 'p';
+        tiles[midY + 1][midX] = 'i';
+        tiles[midY + 1][midX + 1] = 'c';
+        tiles[1][cols - 2] = 'o';
+        tiles[rows - 2][1] = 'o';
+        tiles[rows - 2][cols - 2] = 'o';
+
+        StringBuilder csv = new StringBuilder();
+        for (char[] row : tiles) {
+            for (int x = 0; x < cols; x++) {
+                if (x > 0) csv.append(';');
+                csv.append(row[x]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    //Removes the wall between room (rx, ry) and its neighbour in direction d
+    private static void openWall(char[][] tiles, int rx, int ry, int[] d) {
+        if (d[0] != 0) {
+            int wallX = (d[0] > 0 ? rx + 1 : rx) * PITCH;
+            fill(tiles, wallX, ry * PITCH + 1, 1, PITCH - 1, '.');
+        } else {
+            int wallY = (d[1] > 0 ? ry + 1 : ry) * PITCH;
+            fill(tiles, rx * PITCH + 1, wallY, PITCH - 1, 1, '.');
+        }
+    }
+
+    private static void fill(char[][] tiles, int x, int y, int w, int h, char c) {
+        for (int yy = y; yy < y + h; yy++) {
+            for (int xx = x; xx < x + w; xx++) {
+                tiles[yy][xx] = c;
+            }
+        }
+    }
+}
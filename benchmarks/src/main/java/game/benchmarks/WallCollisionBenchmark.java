@@ -0,0 +1,67 @@
+package game.benchmarks;
+
+import game.Game;
+import game.entities.GhostHouse;
+import game.entities.Wall;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Compares the bitset wall grid with the former scan of every wall hitbox, on the same random 32px probes over the real level
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class WallCollisionBenchmark {
+    private static final int PROBES = 1024;
+    private static final int SIZE = 32;
+
+    @Param({"false", "true"})
+    public boolean ignoreGhostHouses;
+
+    private Game game;
+
+    private final int[] xs = new int[PROBES];
+    private final int[] ys = new int[PROBES];
+
+    @Setup
+    public void setup() {
+        game = new Game();
+
+        Random random = new Random(42);
+        for (int i = 0; i < PROBES; i++) {
+            xs[i] = random.nextInt(448) - SIZE / 2;
+            ys[i] = random.nextInt(496) - SIZE / 2;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void bitsetGrid(Blackhole bh) {
+        for (int i = 0; i < PROBES; i++) {
+            bh.consume(game.getWallGrid().intersects(xs[i], ys[i], SIZE, ignoreGhostHouses));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void rectangleScan(Blackhole bh) {
+        for (int i = 0; i < PROBES; i++) {
+            bh.consume(legacyCheck(game, xs[i], ys[i], SIZE, ignoreGhostHouses));
+        }
+    }
+
+    //Former WallCollisionDetector implementation
+    private static boolean legacyCheck(Game game, int x, int y, int size, boolean ignoreGhostHouses) {
+        Rectangle r = new Rectangle(x, y, size, size);
+        for (Wall w : game.getWalls()) {
+            if (!(ignoreGhostHouses && w instanceof GhostHouse) && w.getHitbox().intersects(r)) return true;
+        }
+        return false;
+    }
+}
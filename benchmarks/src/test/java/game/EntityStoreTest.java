@@ -0,0 +1,34 @@
+package game;
+
+import game.entities.ghosts.Ghost;
+import game.utils.KeyHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityStoreTest {
+    //The arrays of moving entities hold Pac-Man then the ghosts, as they are at the end of each update
+    @Test
+    void movingArraysFollowEntities() {
+        Game game = new Game(null, 3);
+        KeyHandler keys = new KeyHandler();
+        keys.k_left.toggle(true);
+        List<Ghost> ghosts = game.getGhosts();
+
+        for (int tick = 0; tick < 300 && !game.isOver(); tick++) {
+            game.input(keys);
+            game.update();
+
+            assertEquals(game.getPacman().getxPos(), game.getMovingX(0));
+            assertEquals(game.getPacman().getyPos(), game.getMovingY(0));
+            assertEquals(game.getPacman().getDirection(), game.getMovingDirection(0));
+            for (int i = 0; i < ghosts.size(); i++) {
+                assertEquals(ghosts.get(i).getxPos(), game.getMovingX(i + 1));
+                assertEquals(ghosts.get(i).getyPos(), game.getMovingY(i + 1));
+                assertEquals(ghosts.get(i).getDirection(), game.getMovingDirection(i + 1));
+            }
+        }
+    }
+}
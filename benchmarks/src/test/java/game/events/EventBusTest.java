@@ -0,0 +1,121 @@
+package game.events;
+
+import game.entities.PacGum;
+import game.entities.SuperPacGum;
+import game.entities.ghosts.Ghost;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventBusTest {
+    //Writes "<name>:<event>" for every event it receives
+    private static class Recorder implements GameEventListener {
+        final String name;
+        final List<String> log;
+
+        Recorder(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        @Override
+        public void onPacGumEaten(PacGum pg) {
+            log.add(name + ":pg");
+        }
+
+        @Override
+        public void onSuperPacGumEaten(SuperPacGum spg) {
+            log.add(name + ":spg");
+        }
+
+        @Override
+        public void onGhostEaten(Ghost gh) {
+            log.add(name + ":ghost");
+        }
+
+        @Override
+        public void onPacmanCaught(Ghost gh) {
+            log.add(name + ":caught");
+        }
+    }
+
+    //Events in publish order, each one to every listener in subscription order ; nothing before dispatch()
+    @Test
+    void deliversInOrder() {
+        EventBus bus = new EventBus();
+        List<String> log = new ArrayList<>();
+        bus.subscribe(new Recorder("a", log));
+        bus.subscribe(new Recorder("b", log));
+
+        bus.publish(GameEvent.Type.SUPER_PAC_GUM_EATEN, new SuperPacGum(0, 0), 1);
+        bus.publish(GameEvent.Type.PAC_GUM_EATEN, new PacGum(0, 0), 1);
+        bus.publish(GameEvent.Type.GHOST_EATEN, null, 1);
+        assertEquals(List.of(), log);
+
+        bus.dispatch();
+        assertEquals(List.of("a:spg", "b:spg", "a:pg", "b:pg", "a:ghost", "b:ghost"), log);
+
+        bus.dispatch();
+        assertEquals(6, log.size());
+    }
+
+    //More events in a tick than the ring holds : it grows and keeps their order
+    @Test
+    void growsWithoutReordering() {
+        EventBus bus = new EventBus(2);
+        List<String> log = new ArrayList<>();
+        bus.subscribe(new Recorder("a", log));
+
+        for (int i = 0; i < 5; i++) {
+            bus.publish(GameEvent.Type.PAC_GUM_EATEN, null, 1);
+            bus.publish(GameEvent.Type.GHOST_EATEN, null, 1);
+        }
+        bus.dispatch();
+        assertEquals(10, log.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 2 == 0 ? "a:pg" : "a:ghost", log.get(i));
+        }
+    }
+
+    //An event published by a listener is delivered in the same dispatch, after those already pending
+    @Test
+    void deliversEventsPublishedDuringDispatch() {
+        EventBus bus = new EventBus(2);
+        List<String> log = new ArrayList<>();
+        bus.subscribe(new Recorder("a", log) {
+            @Override
+            public void onGhostEaten(Ghost gh) {
+                super.onGhostEaten(gh);
+                bus.publish(GameEvent.Type.PACMAN_CAUGHT, null, 1);
+            }
+        });
+
+        bus.publish(GameEvent.Type.GHOST_EATEN, null, 1);
+        bus.publish(GameEvent.Type.PAC_GUM_EATEN, null, 1);
+        bus.dispatch();
+        assertEquals(List.of("a:ghost", "a:pg", "a:caught"), log);
+    }
+
+    //A listener subscribed during dispatch receives the events after the one being delivered
+    @Test
+    void subscriptionDuringDispatchStartsAtNextEvent() {
+        EventBus bus = new EventBus();
+        List<String> log = new ArrayList<>();
+        Recorder late = new Recorder("late", log);
+        bus.subscribe(new Recorder("a", log) {
+            @Override
+            public void onSuperPacGumEaten(SuperPacGum spg) {
+                super.onSuperPacGumEaten(spg);
+                bus.subscribe(late);
+            }
+        });
+
+        bus.publish(GameEvent.Type.SUPER_PAC_GUM_EATEN, null, 1);
+        bus.publish(GameEvent.Type.PAC_GUM_EATEN, null, 1);
+        bus.dispatch();
+        assertEquals(List.of("a:spg", "a:pg", "late:pg"), log);
+    }
+}
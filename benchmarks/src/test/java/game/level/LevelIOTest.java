@@ -0,0 +1,50 @@
+package game.level;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LevelIOTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() {
+        Level level = new Level(3, 2, "x.o P-".getBytes());
+        Path file = dir.resolve("small.lvl");
+        LevelIO.writeBinary(level, file);
+
+        Level read = LevelIO.readBinary(file.toUri());
+        assertEquals(3, read.getCols());
+        assertEquals(2, read.getRows());
+        assertEquals('o', read.tile(2, 0));
+        assertEquals('-', read.tile(2, 1));
+    }
+
+    //Negative, zero and overflowing sizes are rejected before any tile is read, like any other malformed header
+    @Test
+    void rejectsCorruptHeader() throws IOException {
+        assertCorrupt(0x504C564C, 1, -1, 2);
+        assertCorrupt(0x504C564C, 1, 3, 0);
+        assertCorrupt(0x504C564C, 1, 1 << 16, 1 << 16);
+        assertCorrupt(0x504C564C, 1, 100, 100);
+        assertCorrupt(0x12345678, 1, 3, 2);
+        assertCorrupt(0x504C564C, 2, 3, 2);
+    }
+
+    private void assertCorrupt(int magic, int version, int cols, int rows) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(16 + 6);
+        bytes.putInt(magic).putInt(version).putInt(cols).putInt(rows);
+        Path file = dir.resolve("corrupt.lvl");
+        Files.write(file, bytes.array());
+
+        assertThrows(IllegalArgumentException.class, () -> LevelIO.readBinary(file.toUri()));
+    }
+}
@@ -0,0 +1,36 @@
+package game.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameMetricsTest {
+    //Two games of the same JVM each get their own MBean, removed by unregister()
+    @Test
+    void registersEachInstanceUnderItsOwnName() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        GameMetrics first = new GameMetrics();
+        GameMetrics second = new GameMetrics();
+        first.register();
+        second.register();
+
+        ObjectName firstName = first.getObjectName();
+        ObjectName secondName = second.getObjectName();
+        assertNotEquals(firstName, secondName);
+        assertTrue(server.isRegistered(firstName));
+        assertTrue(server.isRegistered(secondName));
+
+        first.unregister();
+        second.unregister();
+        assertNull(first.getObjectName());
+        assertFalse(server.isRegistered(firstName));
+        assertFalse(server.isRegistered(secondName));
+    }
+}
@@ -0,0 +1,68 @@
+package game.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InputRecordingTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() {
+        InputRecording recording = new InputRecording(42, new byte[]{0, InputRecording.LEFT, InputRecording.UP}, new int[]{3, 200, 1}, 3);
+        Path file = dir.resolve("game.rpl");
+        recording.write(file);
+
+        InputRecording read = InputRecording.read(file);
+        assertEquals(42, read.getSeed());
+        assertEquals(204, read.getTicks());
+        assertEquals(3, read.getRunCount());
+        assertEquals(InputRecording.LEFT, read.getMask(1));
+        assertEquals(200, read.getLength(1));
+    }
+
+    //Run counts and lengths which do not add up to the header's ticks are rejected before anything large is allocated
+    @Test
+    void rejectsCorruptRuns() throws IOException {
+        assertCorrupt(10, -1, new int[0]);
+        assertCorrupt(10, Integer.MAX_VALUE, new int[0]);
+        assertCorrupt(Integer.MAX_VALUE, Integer.MAX_VALUE, new int[]{1});
+        assertCorrupt(10, 2, new int[]{4, 5});
+        assertCorrupt(10, 2, new int[]{4, 7});
+        assertCorrupt(10, 2, new int[]{11, -1});
+        assertCorrupt(10, 2, new int[]{0, 10});
+    }
+
+    private void assertCorrupt(int ticks, int runs, int[] lengths) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x5052504C);
+        out.writeInt(1);
+        out.writeLong(7);
+        out.writeInt(ticks);
+        out.writeInt(runs);
+        for (int length : lengths) {
+            out.writeByte(0);
+            //Varint, as written by InputRecording
+            while ((length & ~0x7F) != 0) {
+                out.writeByte((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            out.writeByte(length);
+        }
+        Path file = dir.resolve("corrupt.rpl");
+        Files.write(file, bytes.toByteArray());
+
+        assertThrows(UncheckedIOException.class, () -> InputRecording.read(file));
+    }
+}
@@ -0,0 +1,33 @@
+package game.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EnvironmentTest {
+    //Pac-Man's rewards add up to the game's score, plus the penalty when it is caught
+    @Test
+    void pacmanRewardsFollowScore() {
+        Environment environment = new Environment(3000);
+        environment.reset(5);
+
+        int[] actions = new int[environment.getAgentCount()];
+        Arrays.fill(actions, Environment.NO_ACTION);
+        Random random = new Random(5);
+        float total = 0;
+        boolean done = false;
+        for (int tick = 0; !done; tick++) {
+            if (tick % 30 == 0) actions[0] = random.nextInt(4);
+            StepResult result = environment.step(actions);
+            total += result.getRewards()[0];
+            done = result.isDone();
+        }
+
+        float expected = environment.getGame().getScore();
+        if (environment.getGame().isOver() && !environment.getGame().isLevelCleared()) expected += Environment.CAUGHT_PENALTY;
+        assertEquals(expected, total);
+    }
+}
@@ -0,0 +1,47 @@
+package game.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VectorEnvironmentTest {
+    //Stepped without reset(seed) : the environments start as after reset(0) and auto-reset with seeds of their own
+    @Test
+    void stepsWithoutExplicitReset() {
+        int count = 4;
+        VectorEnvironment vector = new VectorEnvironment(count, 3, false);
+
+        float[] observations = vector.getObservations();
+        for (int i = 0; i < count; i++) {
+            float[] first = Arrays.copyOfRange(observations, i * vector.getObservationSize(), (i + 1) * vector.getObservationSize());
+            assertTrue(contains(first, Environment.WALL));
+            assertTrue(contains(first, Environment.PAC_GUM));
+            assertEquals(i, vector.getSeed(i));
+        }
+
+        int[] actions = new int[count * vector.getAgentCount()];
+        Arrays.fill(actions, Environment.NO_ACTION);
+        for (int step = 0; step < 4; step++) {
+            vector.step(actions);
+        }
+
+        //Every episode ended after 3 ticks and was reset at the 4th step
+        for (int i = 0; i < count; i++) {
+            assertEquals(i + count, vector.getSeed(i));
+            for (int j = 0; j < i; j++) {
+                assertNotEquals(vector.getSeed(j), vector.getSeed(i));
+            }
+        }
+    }
+
+    private static boolean contains(float[] values, float value) {
+        for (float v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+}
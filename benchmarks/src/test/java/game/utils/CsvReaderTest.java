@@ -0,0 +1,63 @@
+package game.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsCellsRowByRow() throws IOException {
+        StringBuilder cells = new StringBuilder();
+        new CsvReader().parse(write("x;.;o\r\nP;;x;\n"), (x, y, c) -> cells.append(x).append(y).append(c).append(' '));
+        assertEquals("00x 10. 20o 01P 11  21x ", cells.toString());
+    }
+
+    //The malformed rows are reported with their line and column
+    @Test
+    void rejectsRaggedRow() throws IOException {
+        assertMalformed("x;x;x\nx;x\n", "line 2, column 3");
+    }
+
+    @Test
+    void rejectsCellOfSeveralCharacters() throws IOException {
+        assertMalformed("x;x;x\nx;12;x\n", "line 2, column 4");
+    }
+
+    @Test
+    void rejectsControlCharacter() throws IOException {
+        assertMalformed("x;\t;x\n", "line 1, column 3");
+    }
+
+    @Test
+    void rejectsEmptyRowInside() throws IOException {
+        assertMalformed("x;x\n\nx;x\n", "line 2");
+    }
+
+    @Test
+    void rejectsEmptyFile() throws IOException {
+        assertMalformed("\n\n", "no cells");
+    }
+
+    private void assertMalformed(String csv, String where) throws IOException {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new CsvReader().parse(write(csv), (x, y, c) -> {}));
+        assertTrue(e.getMessage().contains(where), e.getMessage());
+    }
+
+    private URI write(String csv) throws IOException {
+        Path file = dir.resolve("level.csv");
+        Files.write(file, csv.getBytes(StandardCharsets.US_ASCII));
+        return file.toUri();
+    }
+}
@@ -0,0 +1,54 @@
+package game.utils;
+
+import game.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MazeGraphTest {
+    //Without the table, the BFS of the queried target gives the same first steps
+    @Test
+    void onDemandSearchMatchesTable() {
+        boolean[][] walls = new Game(null, 1).getMazeWalls();
+        MazeGraph table = new MazeGraph(walls);
+        MazeGraph onDemand = new MazeGraph(walls, 0);
+
+        int nodes = table.getNodeCount();
+        for (int to = 0; to < nodes; to += 7) {
+            for (int from = 0; from < nodes; from++) {
+                assertEquals(table.nextDirection(from, to), onDemand.nextDirection(from, to));
+                assertEquals(table.nextNode(from, to), onDemand.nextNode(from, to));
+            }
+        }
+    }
+
+    //More than 46340 walkable tiles : nodeCount * nodeCount no longer fits in an int
+    @Test
+    void largeMazeSkipsTable() {
+        int size = 220;
+        boolean[][] walls = new boolean[size][size];
+        MazeGraph graph = new MazeGraph(walls);
+        assertEquals(size * size, graph.getNodeCount());
+
+        //Every shortest path from (0, 0) to (5, 110) starts right or down
+        int next = graph.nextNode(graph.nodeAt(0, 0), graph.nodeAt(5, size / 2));
+        assertTrue(next == graph.nodeAt(1, 0) || next == graph.nodeAt(0, 1));
+    }
+
+    //The shared graphs are keyed by the walls, not by the file they came from
+    @Test
+    void sharedGraphFollowsMazeContent() {
+        boolean[][] walls = new Game(null, 1).getMazeWalls();
+        boolean[][] copy = new boolean[walls.length][];
+        for (int y = 0; y < walls.length; y++) {
+            copy[y] = walls[y].clone();
+        }
+        assertSame(MazeGraph.shared(walls), MazeGraph.shared(copy));
+
+        copy[1][1] = !copy[1][1];
+        assertNotSame(MazeGraph.shared(walls), MazeGraph.shared(copy));
+    }
+}
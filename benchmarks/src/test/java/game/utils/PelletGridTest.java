@@ -0,0 +1,42 @@
+package game.utils;
+
+import game.Game;
+import game.entities.Entity;
+import game.entities.PacGum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PelletGridTest {
+    //Walking the set bits gives every PacGum left, once, and none of the eaten ones
+    @Test
+    void setBitsAreTheRemainingPacGums() {
+        Game game = new Game(null, 2);
+        int initial = game.getPelletsRemaining();
+        KeyHandler keys = new KeyHandler();
+        keys.k_left.toggle(true);
+        for (int tick = 0; tick < 200 && !game.isOver(); tick++) {
+            game.input(keys);
+            game.update();
+        }
+
+        Set<PacGum> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entity e : game.getEntities()) {
+            if (e instanceof PacGum) live.add((PacGum) e);
+        }
+        assertTrue(live.size() + 4 < initial, "some PacGums eaten");
+
+        PelletGrid pellets = game.getPelletGrid();
+        int walked = 0;
+        for (int tile = pellets.nextPacGum(0); tile >= 0; tile = pellets.nextPacGum(tile + 1)) {
+            assertTrue(live.contains(pellets.getPacGum(tile)));
+            walked++;
+        }
+        assertEquals(live.size(), walked);
+    }
+}
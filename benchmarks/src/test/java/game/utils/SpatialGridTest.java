@@ -0,0 +1,52 @@
+package game.utils;
+
+import game.Game;
+import game.entities.Pacman;
+import game.entities.ghosts.Ghost;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SpatialGridTest {
+    private static final int TUNNEL_Y = 224;
+
+    //Pac-Man's probe point (the centre of his sprite) is off-screen while he goes through the tunnel
+    @Test
+    void findsGhostOffScreenInTunnel() {
+        Game game = new Game(null, 1);
+        Pacman pacman = game.getPacman();
+        Ghost ghost = game.getGhosts().get(0);
+        CollisionDetector detector = detector(game);
+
+        pacman.setPosition(-24, TUNNEL_Y);
+        ghost.setPosition(-28, TUNNEL_Y);
+        detector.refresh();
+        assertSame(ghost, detector.checkCollision(pacman, Ghost.class));
+
+        pacman.setPosition(game.getWidth() - 4, TUNNEL_Y);
+        ghost.setPosition(game.getWidth() - 2, TUNNEL_Y);
+        detector.refresh();
+        assertSame(ghost, detector.checkCollision(pacman, Ghost.class));
+    }
+
+    //The edge cell holds every off-screen entity : the bounds test still tells them apart
+    @Test
+    void ignoresGhostOffScreenElsewhere() {
+        Game game = new Game(null, 1);
+        Pacman pacman = game.getPacman();
+        Ghost ghost = game.getGhosts().get(0);
+        CollisionDetector detector = detector(game);
+
+        pacman.setPosition(-24, TUNNEL_Y);
+        ghost.setPosition(-28, TUNNEL_Y + 64);
+        detector.refresh();
+        assertNull(detector.checkCollision(pacman, Ghost.class));
+    }
+
+    private static CollisionDetector detector(Game game) {
+        CollisionDetector detector = new CollisionDetector(game);
+        detector.buildIndex(game.getWidth() / 8, game.getHeight() / 8, 8);
+        return detector;
+    }
+}
@@ -0,0 +1,134 @@
+package game;
+
+import game.entities.*;
+import game.metrics.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Entities of a game grouped by kind, so that each pass only walks the entities it concerns
+//  - walls (and ghost house doors) : kept apart, never updated nor rendered here, the background image already shows the maze
+//  - pellets (PacGums and SuperPacGums) : looked up and drawn through the game's PelletGrid, removed from here once eaten
+//  - updated entities : the blinking SuperPacGums, then Pac-Man and the ghosts
+//The position, direction and liveness of the moving entities are also kept in parallel arrays, written back at the end of each update :
+//the update loop tests liveness there, and the passes reading every moving entity (observations, for instance) read those arrays
+//The per-tick cost depends on the live pellets and moving entities, not on the size of the maze
+class EntityStore {
+    //Every live entity but the walls, in creation order ; destroyed ones are removed by compact()
+    private final List<Entity> all = new ArrayList<>();
+    private final List<Wall> walls = new ArrayList<>();
+
+    private SuperPacGum[] superPacGums = new SuperPacGum[4];
+    private int superPacGumCount = 0;
+
+    private MovingEntity[] moving = new MovingEntity[8];
+    private int movingCount = 0;
+
+    //State of moving[i] at the end of the last update
+    private int[] xs = new int[8];
+    private int[] ys = new int[8];
+    private int[] directions = new int[8];
+    private boolean[] alive = new boolean[8];
+
+    //Number of entities destroyed since the last compact()
+    private int dead = 0;
+
+    public void add(Entity e) {
+        if (e instanceof Wall) {
+            walls.add((Wall) e);
+            return;
+        }
+
+        all.add(e);
+        if (e instanceof SuperPacGum) {
+            if (superPacGumCount == superPacGums.length) superPacGums = Arrays.copyOf(superPacGums, superPacGumCount * 2);
+            superPacGums[superPacGumCount++] = (SuperPacGum) e;
+        } else if (e instanceof MovingEntity) {
+            if (movingCount == moving.length) {
+                int capacity = movingCount * 2;
+                moving = Arrays.copyOf(moving, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                directions = Arrays.copyOf(directions, capacity);
+                alive = Arrays.copyOf(alive, capacity);
+            }
+            moving[movingCount] = (MovingEntity) e;
+            store(movingCount++);
+        }
+    }
+
+    private void store(int i) {
+        MovingEntity e = moving[i];
+        xs[i] = e.getxPos();
+        ys[i] = e.getyPos();
+        directions[i] = e.getDirection();
+        alive[i] = !e.isDestroyed();
+    }
+
+    //Updates the SuperPacGums, then the moving entities ; only the moving ones are timed when there are metrics
+    public void update(GameMetrics metrics) {
+        for (int i = 0; i < superPacGumCount; i++) {
+            if (!superPacGums[i].isDestroyed()) superPacGums[i].update();
+        }
+
+        for (int i = 0; i < movingCount; i++) {
+            if (!alive[i]) continue;
+            MovingEntity e = moving[i];
+            if (metrics == null) {
+                e.update();
+            } else {
+                long start = System.nanoTime();
+                e.update();
+                metrics.entityUpdate(e.getClass()).recordSince(start);
+            }
+        }
+
+        //Once every entity has moved : an update may also move or destroy the others (a caught Pac-Man, an eaten ghost)
+        for (int i = 0; i < movingCount; i++) {
+            store(i);
+        }
+    }
+
+    //Destroys a pellet ; it stays in the lists until the next compact()
+    public void destroy(StaticEntity pellet) {
+        pellet.destroy();
+        dead++;
+    }
+
+    //Removes the entities destroyed since the last call, keeping the order of the others
+    public void compact() {
+        if (dead == 0) return;
+
+        int supers = 0;
+        for (int i = 0; i < superPacGumCount; i++) {
+            if (!superPacGums[i].isDestroyed()) superPacGums[supers++] = superPacGums[i];
+        }
+        Arrays.fill(superPacGums, supers, superPacGumCount, null);
+        superPacGumCount = supers;
+
+        all.removeIf(Entity::isDestroyed);
+        dead = 0;
+    }
+
+    //Moving entity i : Pac-Man then the ghosts, in the order they were added
+    public int getX(int i) {
+        return xs[i];
+    }
+
+    public int getY(int i) {
+        return ys[i];
+    }
+
+    public int getDirection(int i) {
+        return directions[i];
+    }
+
+    public List<Entity> getEntities() {
+        return all;
+    }
+
+    public List<Wall> getWalls() {
+        return walls;
+    }
+}
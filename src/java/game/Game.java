@@ -3,143 +3,277 @@ package game;
 import game.entities.*;
 import game.entities.ghosts.Blinky;
 import game.entities.ghosts.Ghost;
+import game.events.EventBus;
+import game.events.GameEvent;
+import game.events.GameEventListener;
 import game.ghostFactory.*;
 import game.ghostStates.EatenMode;
 import game.ghostStates.FrightenedMode;
+import game.level.Level;
+import game.level.LevelIO;
+import game.metrics.GameMetrics;
 import game.utils.CollisionDetector;
-import game.utils.CsvReader;
+import game.utils.GameRandom;
 import game.utils.KeyHandler;
+import game.utils.MazeGraph;
+import game.utils.PathTrace;
+import game.utils.PelletGrid;
+import game.utils.WallOccupancyGrid;
 
-import java.awt.*;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 //Classe gérant le jeu en lui même
 public class Game implements Observer {
 
-    //Pour lister les différentes entités présentes sur la fenêtre
-    private List<Entity> objects = new ArrayList<>();
+    private static final String LEVEL = "level/level.csv";
+
+    //Every piece of state of a game lives in its Game instance (entities reach it through getGame()), so several games can run side by side on different threads
+
+    //Pour lister les différentes entités présentes sur la fenêtre, regroupées par type
+    private final EntityStore entities = new EntityStore();
     private List<Ghost> ghosts = new ArrayList<>();
-    private static List<Wall> walls = new ArrayList<>();
 
     // NEW: 2D grid describing walls for BFS
-    private static boolean[][] mazeWalls;
+    private boolean[][] mazeWalls;
 
-    private static Pacman pacman;
-    private static Blinky blinky;
+    // Next-hop table computed once from mazeWalls, shared by every ghost strategy
+    private MazeGraph mazeGraph;
 
-    private static boolean firstInput = false;
+    // Bitset of wall and ghost house tiles used by WallCollisionDetector
+    private WallOccupancyGrid wallGrid;
 
-    public Game() {
+    // Bitmaps of the pellets left, with their count
+    private PelletGrid pelletGrid;
 
-        //Initialisation du jeu
+    private Pacman pacman;
+    private Blinky blinky;
 
-        //Chargement du fichier csv du niveau
-        List<List<String>> data = null;
-        try {
-            data = new CsvReader().parseCsv(getClass().getClassLoader().getResource("level/level.csv").toURI());
-        } catch (URISyntaxException e) {
-            e.printStackTrace();
-        }
+    private boolean firstInput = false;
 
-        int cellsPerRow = data.get(0).size();
-        int cellsPerColumn = data.size();
-        int cellSize = 8;   // Your game uses 8px tiles!
+    // Size of the play area in pixels, taken from the level
+    private int width;
+    private int height;
 
-        // Allocate the BFS wall grid
-        mazeWalls = new boolean[cellsPerColumn][cellsPerRow];
+    private CollisionDetector collisionDetector;
 
-        CollisionDetector collisionDetector = new CollisionDetector(this);
-        AbstractGhostFactory abstractGhostFactory = null;
+    // Game state read by the Swing loop and by the headless SimulationEngine
+    private int score = 0;
+    // Pac-Man has a single life for now (no respawn yet), and there is a single level
+    private int lives = 1;
+    private int level = 1;
+    private boolean over = false;
+    private boolean levelCleared = false;
 
-        //Pour chaque case du CSV, création de la bonne entité
-        for (int xx = 0; xx < cellsPerRow; xx++) {
-            for (int yy = 0; yy < cellsPerColumn; yy++) {
+    // Optional timings of the update, by entity class (null : not measured)
+    private GameMetrics metrics;
 
-                String dataChar = data.get(yy).get(xx);
+    // Last pathfinding decisions of the ghosts (null unless -Dpacman.trace is set)
+    private final PathTrace pathTrace = PathTrace.LEVEL != PathTrace.OFF ? new PathTrace() : null;
+    private long tick = 0;
 
-                // ---------------- WALLS ----------------
-                if (dataChar.equals("x")) {
-                    objects.add(new Wall(xx * cellSize, yy * cellSize));
-                    mazeWalls[yy][xx] = true;   // mark wall in BFS grid
-                } else {
-                    mazeWalls[yy][xx] = false;  // walkable
-                }
+    // Every random number of the game comes from here, so that a seed replays the same game
+    private final GameRandom random;
 
-                // ---------------- PACMAN ----------------
-                if (dataChar.equals("P")) {
-                    pacman = new Pacman(xx * cellSize, yy * cellSize);
-                    pacman.setCollisionDetector(collisionDetector);
+    // What happened during the tick, for the HUD, the renderer and the agents ; dispatched at the end of each update
+    private final EventBus events = new EventBus();
 
-                    pacman.registerObserver(GameLauncher.getUIPanel());
-                    pacman.registerObserver(this);
-                }
+    public Game() {
+        this(null);
+    }
 
-                // ---------------- GHOSTS ----------------
-                else if (dataChar.equals("b") || dataChar.equals("p") || dataChar.equals("i") || dataChar.equals("c")) {
+    public Game(GameEventListener listener) {
+        this(listener, System.nanoTime());
+    }
 
-                    switch (dataChar) {
-                        case "b": abstractGhostFactory = new BlinkyFactory(); break;
-                        case "p": abstractGhostFactory = new PinkyFactory();   break;
-                        case "i": abstractGhostFactory = new InkyFactory();    break;
-                        case "c": abstractGhostFactory = new ClydeFactory();   break;
-                    }
+    public Game(GameEventListener listener, long seed) {
+        this(listener, resource(LEVEL), seed);
+    }
 
-                    Ghost ghost = abstractGhostFactory.makeGhost(xx * cellSize, yy * cellSize);
-                    ghosts.add(ghost);
+    // "listener" (if any) is subscribed to the events of the game before it starts ; it is called on the game thread
+    // "level" is the file of the level to play (csv, or binary .lvl, see LevelIO), the bundled one or any other (benchmark mazes, for instance)
+    public Game(GameEventListener listener, URI level, long seed) {
+        random = new GameRandom(seed);
+        if (listener != null) events.subscribe(listener);
 
-                    if (dataChar.equals("b")) {
-                        blinky = (Blinky) ghost;
-                    }
-                }
+        //Initialisation du jeu
 
-                // ---------------- PAC-GUM ----------------
-                else if (dataChar.equals(".")) {
-                    objects.add(new PacGum(xx * cellSize, yy * cellSize));
-                }
+        //Chargement du niveau (fichier csv, ou binaire .lvl mappé en mémoire)
+        Level data = LevelIO.load(level);
 
-                // ---------------- SUPER PAC-GUM ----------------
-                else if (dataChar.equals("o")) {
-                    objects.add(new SuperPacGum(xx * cellSize, yy * cellSize));
-                }
+        int cellsPerRow = data.getCols();
+        int cellsPerColumn = data.getRows();
+        int cellSize = 8;   // Your game uses 8px tiles!
 
-                // ---------------- GHOST HOUSE ----------------
-                else if (dataChar.equals("-")) {
-                    objects.add(new GhostHouse(xx * cellSize, yy * cellSize));
+        width = cellsPerRow * cellSize;
+        height = cellsPerColumn * cellSize;
+
+        // Allocate the BFS wall grid (every tile starts walkable)
+        mazeWalls = new boolean[cellsPerColumn][cellsPerRow];
+        wallGrid = new WallOccupancyGrid(cellsPerRow, cellsPerColumn, cellSize);
+        pelletGrid = new PelletGrid(cellsPerRow, cellsPerColumn, cellSize);
+
+        collisionDetector = new CollisionDetector(this);
+        AbstractGhostFactory abstractGhostFactory = null;
+
+        // Ghost tiles, as xx * cellsPerColumn + yy : the ghosts are created once the level is read, column by column,
+        // since their order fixes their index in "ghosts" and the random numbers each one splits from the game
+        List<Integer> ghostTiles = new ArrayList<>();
+
+        //Pour chaque case du niveau (ligne par ligne, dans l'ordre des octets), création de la bonne entité
+        for (int yy = 0; yy < cellsPerColumn; yy++) {
+            for (int xx = 0; xx < cellsPerRow; xx++) {
+
+                char tile = data.tile(xx, yy);
+
+                switch (tile) {
+                    // ---------------- WALLS ----------------
+                    case 'x':
+                        entities.add(new Wall(xx * cellSize, yy * cellSize));
+                        mazeWalls[yy][xx] = true;   // mark wall in BFS grid
+                        wallGrid.addWall(xx, yy);
+                        break;
+
+                    // ---------------- PACMAN ----------------
+                    case 'P':
+                        pacman = new Pacman(this, xx * cellSize, yy * cellSize);
+                        pacman.setCollisionDetector(collisionDetector);
+                        pacman.registerObserver(this);
+                        break;
+
+                    // ---------------- GHOSTS ----------------
+                    case 'b':
+                    case 'p':
+                    case 'i':
+                    case 'c':
+                        ghostTiles.add(xx * cellsPerColumn + yy);
+                        break;
+
+                    // ---------------- PAC-GUM ----------------
+                    case '.':
+                        PacGum pacGum = new PacGum(xx * cellSize, yy * cellSize);
+                        entities.add(pacGum);
+                        pelletGrid.add(pacGum);
+                        break;
+
+                    // ---------------- SUPER PAC-GUM ----------------
+                    case 'o':
+                        SuperPacGum superPacGum = new SuperPacGum(xx * cellSize, yy * cellSize);
+                        entities.add(superPacGum);
+                        pelletGrid.add(superPacGum);
+                        break;
+
+                    // ---------------- GHOST HOUSE ----------------
+                    case '-':
+                        entities.add(new GhostHouse(xx * cellSize, yy * cellSize));
+                        wallGrid.addGhostHouse(xx, yy);
+                        break;
                 }
             }
         }
 
-        objects.add(pacman);
-        objects.addAll(ghosts);
+        Collections.sort(ghostTiles);
+        for (int ghostTile : ghostTiles) {
+            int xx = ghostTile / cellsPerColumn;
+            int yy = ghostTile % cellsPerColumn;
+            char tile = data.tile(xx, yy);
+            switch (tile) {
+                case 'b': abstractGhostFactory = new BlinkyFactory(); break;
+                case 'p': abstractGhostFactory = new PinkyFactory();   break;
+                case 'i': abstractGhostFactory = new InkyFactory();    break;
+                case 'c': abstractGhostFactory = new ClydeFactory();   break;
+            }
 
-        // Store all walls in wall list
-        for (Entity o : objects) {
-            if (o instanceof Wall) {
-                walls.add((Wall) o);
+            Ghost ghost = abstractGhostFactory.makeGhost(this, xx * cellSize, yy * cellSize);
+            ghosts.add(ghost);
+
+            if (tile == 'b') {
+                blinky = (Blinky) ghost;
             }
         }
+
+        // The next-hop table only depends on the walls and is never modified once built, so the games of a same maze share it
+        mazeGraph = MazeGraph.shared(mazeWalls);
+
+        entities.add(pacman);
+        for (Ghost ghost : ghosts) {
+            entities.add(ghost);
+        }
+
+        // Spatial index used by Pacman's collision queries
+        collisionDetector.buildIndex(cellsPerRow, cellsPerColumn, cellSize);
+    }
+
+    private static URI resource(String path) {
+        try {
+            return Game.class.getClassLoader().getResource(path).toURI();
+        } catch (URISyntaxException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Listeners subscribed here are notified after the HUD
+    public EventBus getEventBus() {
+        return events;
     }
 
     //Getter for BFS wall grid
-    public static boolean[][] getMazeWalls() {
+    public boolean[][] getMazeWalls() {
         return mazeWalls;
     }
 
-    public static List<Wall> getWalls() {
-        return walls;
+    public MazeGraph getMazeGraph() {
+        return mazeGraph;
+    }
+
+    public WallOccupancyGrid getWallGrid() {
+        return wallGrid;
+    }
+
+    public PelletGrid getPelletGrid() {
+        return pelletGrid;
+    }
+
+    public List<Wall> getWalls() {
+        return entities.getWalls();
+    }
+
+    public List<Ghost> getGhosts() {
+        return ghosts;
+    }
+
+    // Position and direction of Pac-Man (i = 0) and of the ghosts (i = 1..n, in getGhosts() order) at the end of the last update
+    public int getMovingX(int i) {
+        return entities.getX(i);
+    }
+
+    public int getMovingY(int i) {
+        return entities.getY(i);
+    }
+
+    public int getMovingDirection(int i) {
+        return entities.getDirection(i);
     }
 
+    // Every entity still in the game but the walls (see getWalls) ; eaten pellets are removed at the end of the tick
     public List<Entity> getEntities() {
-        return objects;
+        return entities.getEntities();
     }
 
     //Mise à jour de toutes les entités
     public void update() {
-        for (Entity o : objects) {
-            if (!o.isDestroyed()) o.update();
-        }
+        if (over) return;
+        tick++;
+
+        //Walls and pac-gums have nothing to update, only the SuperPacGums (blinking) and the moving entities are walked
+        entities.update(metrics);
+        entities.compact();
+        collisionDetector.refresh();
+        events.dispatch();
     }
 
     //Gestion des inputs
@@ -147,51 +281,117 @@ public class Game implements Observer {
         pacman.input(k);
     }
 
-    //Rendu de toutes les entités
-    public void render(Graphics2D g) {
-        for (Entity o : objects) {
-            if (!o.isDestroyed()) o.render(g);
-        }
-    }
-
-    public static Pacman getPacman() {
+    public Pacman getPacman() {
         return pacman;
     }
 
-    public static Blinky getBlinky() {
+    public Blinky getBlinky() {
         return blinky;
     }
 
-    public static void setFirstInput(boolean b) {
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPelletsRemaining() {
+        return pelletGrid.getRemaining();
+    }
+
+    // True once Pac-Man has been caught or has eaten every pellet ; the game no longer updates
+    public boolean isOver() {
+        return over;
+    }
+
+    public boolean isLevelCleared() {
+        return levelCleared;
+    }
+
+    public void setFirstInput(boolean b) {
         firstInput = b;
     }
 
-    public static boolean getFirstInput() {
+    public boolean getFirstInput() {
         return firstInput;
     }
 
+    // Number of updates run so far
+    public long getTick() {
+        return tick;
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public PathTrace getPathTrace() {
+        return pathTrace;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // ---------------- OBSERVER CALLBACKS ----------------
+    //Pac-Man's collisions are applied at once, then published with their outcome for the listeners of the bus
 
     @Override
     public void updatePacGumEaten(PacGum pg) {
-        pg.destroy();
+        pelletGrid.remove(pg);
+        entities.destroy(pg);
+        score += 10;
+        events.publish(GameEvent.Type.PAC_GUM_EATEN, pg, tick);
+        pelletEaten();
     }
 
     @Override
     public void updateSuperPacGumEaten(SuperPacGum spg) {
-        spg.destroy();
+        pelletGrid.remove(spg);
+        entities.destroy(spg);
+        score += 100;
         for (Ghost gh : ghosts) {
             gh.getState().superPacGumEaten();
         }
+        events.publish(GameEvent.Type.SUPER_PAC_GUM_EATEN, spg, tick);
+        pelletEaten();
     }
 
     @Override
     public void updateGhostCollision(Ghost gh) {
         if (gh.getState() instanceof FrightenedMode) {
+            score += 500;
             gh.getState().eaten();
+            events.publish(GameEvent.Type.GHOST_EATEN, gh, tick);
         } else if (!(gh.getState() instanceof EatenMode)) {
-            System.out.println("Game over !\nScore : " + GameLauncher.getUIPanel().getScore());
-            System.exit(0);
+            lives--;
+            if (lives == 0) over = true;
+            events.publish(GameEvent.Type.PACMAN_CAUGHT, gh, tick);
+        }
+    }
+
+    private void pelletEaten() {
+        if (pelletGrid.getRemaining() == 0) {
+            levelCleared = true;
+            over = true;
         }
     }
 }
@@ -0,0 +1,170 @@
+package game;
+
+import game.entities.*;
+import game.events.GameEventListener;
+import game.utils.PelletGrid;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+//Layered rendering of a game : what never changes is drawn once, what changes rarely is redrawn only when it changes
+//  - static layer : the background and the walls, composited once
+//  - pellet layer : the PacGums, drawn once from the set bits of the game's PelletGrid and erased one by one when Pac-Man eats them
+//  - every frame : the remaining entities (Pac-Man, the ghosts, and the blinking SuperPacGums), in the game's order
+//After the first frame, only the regions those entities covered on the previous frame or cover now are redrawn ; their union is the area to repaint
+public class GameRenderer implements GameEventListener {
+    private final BufferedImage staticLayer;
+    private final BufferedImage pelletLayer;
+    private final Graphics2D pelletG;
+    private final List<Entity> perFrame = new ArrayList<>();
+
+    //Bounds drawn on the previous frame for each entity of perFrame
+    private final Rectangle[] previousBounds;
+    private final boolean[] previousVisible;
+    private final Rectangle full;
+    private boolean fullRedraw = true;
+
+    //Regions redrawn this frame (pooled rectangles, only the first dirtyCount are used) and their union
+    private final List<Rectangle> dirty = new ArrayList<>();
+    private int dirtyCount = 0;
+    private final Rectangle dirtyUnion = new Rectangle();
+
+    public GameRenderer(Game game, int width, int height, Image backgroundImage) {
+        staticLayer = createLayer(width, height);
+        pelletLayer = createLayer(width, height);
+
+        Graphics2D staticG = staticLayer.createGraphics();
+        staticG.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        staticG.drawImage(backgroundImage, 0, 0, width, height, null);
+
+        pelletG = pelletLayer.createGraphics();
+        pelletG.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        for (Wall w : game.getWalls()) {
+            w.render(staticG);
+        }
+        staticG.dispose();
+
+        PelletGrid pellets = game.getPelletGrid();
+        for (int tile = pellets.nextPacGum(0); tile >= 0; tile = pellets.nextPacGum(tile + 1)) {
+            pellets.getPacGum(tile).render(pelletG);
+        }
+
+        for (Entity e : game.getEntities()) {
+            if (!e.isDestroyed() && !(e instanceof PacGum)) perFrame.add(e);
+        }
+
+        full = new Rectangle(0, 0, width, height);
+        previousBounds = new Rectangle[perFrame.size()];
+        previousVisible = new boolean[perFrame.size()];
+        for (int i = 0; i < previousBounds.length; i++) {
+            previousBounds[i] = new Rectangle();
+        }
+
+        game.getEventBus().subscribe(this);
+    }
+
+    private static BufferedImage createLayer(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    //Redraws the parts of the frame which may have changed ; getDirtyRegion() then gives the area to copy on screen
+    public void render(Graphics2D g) {
+        if (fullRedraw) {
+            dirtyCount = 0;
+            addDirty(full);
+            fullRedraw = false;
+        } else {
+            for (int i = 0; i < perFrame.size(); i++) {
+                Entity e = perFrame.get(i);
+                //A blinking SuperPacGum only changes when it appears, disappears or is eaten
+                if (e instanceof SuperPacGum && !e.isDestroyed() && ((SuperPacGum) e).isVisible() == previousVisible[i]) continue;
+
+                addDirty(previousBounds[i]);
+                if (!e.isDestroyed()) addDirty(e.getxPos(), e.getyPos(), e.getSize(), e.getSize());
+            }
+        }
+
+        dirtyUnion.setBounds(0, 0, 0, 0);
+        Shape clip = g.getClip();
+        for (int d = 0; d < dirtyCount; d++) {
+            Rectangle r = dirty.get(d);
+            if (dirtyUnion.isEmpty()) dirtyUnion.setBounds(r);
+            else dirtyUnion.add(r);
+
+            g.setClip(r);
+            drawLayers(g);
+        }
+        g.setClip(clip);
+        dirtyCount = 0;
+
+        for (int i = 0; i < perFrame.size(); i++) {
+            Entity e = perFrame.get(i);
+            if (e.isDestroyed()) previousBounds[i].setBounds(0, 0, 0, 0);
+            else previousBounds[i].setBounds(e.getxPos(), e.getyPos(), e.getSize(), e.getSize());
+            previousVisible[i] = !(e instanceof SuperPacGum) || ((SuperPacGum) e).isVisible();
+        }
+    }
+
+    //Union of the regions redrawn by the last render(), clamped to the panel
+    public Rectangle getDirtyRegion() {
+        return dirtyUnion;
+    }
+
+    //The next render() redraws the whole frame
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    private void drawLayers(Graphics2D g) {
+        g.drawImage(staticLayer, 0, 0, null);
+        g.drawImage(pelletLayer, 0, 0, null);
+
+        for (Entity e : perFrame) {
+            if (!e.isDestroyed()) e.render(g);
+        }
+    }
+
+    private void addDirty(Rectangle r) {
+        addDirty(r.x, r.y, r.width, r.height);
+    }
+
+    //Adds the rectangle (x, y, w, h) clamped to the panel, merged into a region it touches when there is one
+    private void addDirty(int x, int y, int w, int h) {
+        int minX = Math.max(full.x, x);
+        int minY = Math.max(full.y, y);
+        int maxX = Math.min(full.x + full.width, x + w);
+        int maxY = Math.min(full.y + full.height, y + h);
+        if (minX >= maxX || minY >= maxY) return;
+
+        for (int d = 0; d < dirtyCount; d++) {
+            Rectangle r = dirty.get(d);
+            if (minX <= r.x + r.width && r.x <= maxX && minY <= r.y + r.height && r.y <= maxY) {
+                int unionMinX = Math.min(minX, r.x);
+                int unionMinY = Math.min(minY, r.y);
+                r.setBounds(unionMinX, unionMinY, Math.max(maxX, r.x + r.width) - unionMinX, Math.max(maxY, r.y + r.height) - unionMinY);
+                return;
+            }
+        }
+
+        if (dirtyCount == dirty.size()) dirty.add(new Rectangle());
+        dirty.get(dirtyCount++).setBounds(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    // ---------------- EVENTS ----------------
+
+    //The hitbox of a static entity keeps its original position, even once the entity is destroyed
+    @Override
+    public void onPacGumEaten(PacGum pg) {
+        Composite composite = pelletG.getComposite();
+        pelletG.setComposite(AlphaComposite.Clear);
+        pelletG.fill(pg.getHitbox());
+        pelletG.setComposite(composite);
+    }
+}
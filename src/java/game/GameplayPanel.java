@@ -1,38 +1,60 @@
 package game;
 
+import game.clock.AcceleratedClock;
+import game.clock.IGameClock;
+import game.clock.RealTimeClock;
+import game.clock.UncappedClock;
+import game.metrics.GameMetrics;
+import game.replay.InputRecorder;
+import game.replay.InputRecording;
 import game.utils.KeyHandler;
+import game.utils.ResourceCache;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.file.Path;
 
 public class GameplayPanel extends JPanel implements Runnable {
+    private static final double TICKS_PER_SECOND = 60.0;
+    private static final int MAX_TICKS_PER_FRAME = 5;
 
-    public static int width;
-    public static int height;
+    private final int width;
+    private final int height;
 
     private Thread thread;
-    private boolean running = false;
+    private volatile boolean running = false;
+    private final IGameClock clock = createClock(System.getProperty("pacman.clock", "realtime"));
+
+    //Frame and tick timings, readable over JMX and shown by the UI panel with -Dpacman.overlay=true
+    private final GameMetrics metrics = new GameMetrics();
+
+    //Score, lives, level and frame count read by the UI panel on its own timer
+    private final HudState hud = new HudState();
 
     private BufferedImage img;
     private Graphics2D bufferG;
     private Image backgroundImage;
 
     private KeyHandler key;
+    //Keys given to the game for the current tick : a copy of "key" taken once per tick, so that what is recorded is what is played
+    private final KeyHandler tickKeys = new KeyHandler();
     private Game game;
 
+    //Seed of the game (-Dpacman.seed, or the time), and the recorder of its inputs with -Dpacman.record=<file>
+    private final long seed = Long.getLong("pacman.seed", System.nanoTime());
+    private InputRecorder recorder;
+    private GameRenderer renderer;
+
     public GameplayPanel(int width, int height) throws IOException {
-        GameplayPanel.width = width;
-        GameplayPanel.height = height;
+        this.width = width;
+        this.height = height;
 
         setPreferredSize(new Dimension(width, height));
         setFocusable(true);
 
-        backgroundImage = ImageIO.read(
-                getClass().getClassLoader().getResource("img/background.png")
-        );
+        backgroundImage = ResourceCache.getImage("img/background.png");
     }
 
     @Override
@@ -44,6 +66,13 @@ public class GameplayPanel extends JPanel implements Runnable {
         }
     }
 
+    //Stops the game loop once the panel leaves its window ; the loop then unregisters its metrics
+    @Override
+    public void removeNotify() {
+        running = false;
+        super.removeNotify();
+    }
+
     public void init() {
         running = true;
 
@@ -54,91 +83,108 @@ public class GameplayPanel extends JPanel implements Runnable {
         key = new KeyHandler(this);
         addKeyListener(key);
 
-        game = new Game();
+        game = new Game(null, seed);
+        hud.publish(game);
+        if (GameLauncher.getUIPanel() != null) GameLauncher.getUIPanel().showHud(hud);
+        renderer = new GameRenderer(game, width, height, backgroundImage);
+
+        String recordFile = System.getProperty("pacman.record");
+        if (recordFile != null) {
+            recorder = new InputRecorder(seed);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> recorder.toRecording().write(Path.of(recordFile))));
+        }
+
+        game.setMetrics(metrics);
+        metrics.register();
+        if (Boolean.getBoolean("pacman.overlay") && GameLauncher.getUIPanel() != null) {
+            GameLauncher.getUIPanel().showMetrics(metrics);
+        }
     }
 
     public void updateGame() {
         game.update();
+        hud.publish(game);
+
+        if (game.isOver()) {
+            if (game.getPathTrace() != null) game.getPathTrace().dump(System.out);
+            metrics.unregister();
+            System.out.println((game.isLevelCleared() ? "Level cleared !" : "Game over !") + "\nScore : " + game.getScore());
+            System.exit(0);
+        }
     }
 
     public void inputGame() {
-        game.input(key);
+        int mask = InputRecording.mask(key);
+        if (recorder != null) recorder.record(mask);
+        InputRecording.apply(mask, tickKeys);
+        game.input(tickKeys);
     }
 
     public void renderGame() {
         if (bufferG != null) {
-            // Clear screen by drawing the background
-            bufferG.drawImage(backgroundImage, 0, 0, width, height, null);
-
-            // Render game (Pacman + Ghosts)
-            game.render(bufferG);
+            // Cached background/walls and pellets, then Pacman + Ghosts
+            renderer.render(bufferG);
         }
     }
 
+    //Only the clip given by Swing is copied : the dirty region of the last frame, or the whole panel when it is exposed
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         if (img != null) {
-            g.drawImage(img, 0, 0, null);
+            long start = System.nanoTime();
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                g.drawImage(img, 0, 0, null);
+            } else {
+                g.drawImage(img, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                        clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
+            }
+            metrics.paint().recordSince(start);
         }
     }
 
+    //Clock chosen with -Dpacman.clock : "realtime" (default), "uncapped", or "accelerated:N" for N ticks per frame
+    private static IGameClock createClock(String mode) {
+        if (mode.equals("uncapped")) return new UncappedClock(1);
+        if (mode.startsWith("accelerated:")) return new AcceleratedClock(TICKS_PER_SECOND, Integer.parseInt(mode.substring("accelerated:".length())));
+        return new RealTimeClock(TICKS_PER_SECOND, MAX_TICKS_PER_FRAME);
+    }
+
     @Override
     public void run() {
         init();
-
-        final double GAME_HERTZ = 60.0;
-        final double TBU = 1_000_000_000.0 / GAME_HERTZ;
-        final int MUBR = 5;
-
-        double lastUpdate = System.nanoTime();
-        double lastRender;
-
-        final double TARGET_FPS = 60.0;
-        final double TTBR = 1_000_000_000.0 / TARGET_FPS;
-
-        int frameCount = 0;
-        int lastSecond = (int) (lastUpdate / 1_000_000_000L);
+        long droppedTicks = 0;
 
         while (running) {
-            double now = System.nanoTime();
-            int updates = 0;
+            // Update game logic, as many fixed ticks as the clock asks for
+            int ticks = clock.awaitFrame();
+            metrics.addDroppedTicks(clock.getDroppedTicks() - droppedTicks);
+            droppedTicks = clock.getDroppedTicks();
 
-            // Update game logic
-            while ((now - lastUpdate > TBU) && (updates < MUBR)) {
+            for (int i = 0; i < ticks; i++) {
+                long start = System.nanoTime();
                 inputGame();
-                updateGame();
-                lastUpdate += TBU;
-                updates++;
-            }
+                metrics.input().recordSince(start);
 
-            if (now - lastUpdate > TBU) {
-                lastUpdate = now - TBU;
+                start = System.nanoTime();
+                updateGame();
+                metrics.update().recordSince(start);
+                metrics.tick();
             }
 
             // Render to off-screen buffer
+            long start = System.nanoTime();
             renderGame();
+            metrics.render().recordSince(start);
+            hud.frameRendered();
 
-            // Schedule repaint on EDT (correct Swing usage)
-            repaint();
-
-            lastRender = now;
-            frameCount++;
-
-            int thisSecond = (int) (lastUpdate / 1_000_000_000L);
-            if (thisSecond > lastSecond) {
-                lastSecond = thisSecond;
-                frameCount = 0;
-            }
-
-            // Maintain FPS
-            while (now - lastRender < TTBR) {
-                Thread.yield();
-                try {
-                    Thread.sleep(1);
-                } catch (Exception ignored) {}
-                now = System.nanoTime();
+            // Schedule repaint on EDT (correct Swing usage), limited to what changed in the buffer
+            Rectangle dirty = renderer.getDirtyRegion();
+            if (!dirty.isEmpty()) {
+                repaint(dirty.x, dirty.y, dirty.width, dirty.height);
             }
         }
+        metrics.unregister();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package game;
+
+//Values shown by the UI panel : written by the game thread, read by the Swing thread when the panel refreshes
+//Each value is a single volatile field, so publishing one is a plain write and never touches Swing
+public class HudState {
+    private volatile int score;
+    private volatile int lives;
+    private volatile int level;
+    private volatile long frames;
+
+    //Copies the state of the game ; to call on the game thread, after each update
+    public void publish(Game game) {
+        score = game.getScore();
+        lives = game.getLives();
+        level = game.getLevel();
+    }
+
+    //Counts one rendered frame (only the game thread writes it)
+    public void frameRendered() {
+        frames++;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+}
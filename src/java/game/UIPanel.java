@@ -1,56 +1,121 @@
 package game;
 
-import game.entities.PacGum;
-import game.entities.SuperPacGum;
-import game.entities.ghosts.Ghost;
-import game.ghostStates.FrightenedMode;
+import game.metrics.GameMetrics;
+import game.metrics.HistogramSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
 
 //Panneau de l'interface utilisateur
-public class UIPanel extends JPanel implements Observer {
-    public static int width;
-    public static int height;
+//The labels are refreshed by a Swing timer (at most REFRESH_HZ times per second) from a HudState, and only set when their value changed
+public class UIPanel extends JPanel {
+    private static final int REFRESH_HZ = 15;
+    private static final long FPS_WINDOW_NANOS = 500_000_000L;
+
+    private int width;
+    private int height;
 
-    private int score = 0;
     private JLabel scoreLabel;
+    private JLabel livesLabel;
+    private JLabel levelLabel;
+    private JLabel fpsLabel;
+
+    //Values currently shown (-1 : not shown yet)
+    private int shownScore = -1;
+    private int shownLives = -1;
+    private int shownLevel = -1;
+    private int shownFps = -1;
+
+    //Frame count and time at the start of the current FPS window
+    private long fpsFrames;
+    private long fpsStart;
 
     public UIPanel(int width, int height) {
         this.width = width;
         this.height = height;
         setPreferredSize(new Dimension(width, height));
         this.setBackground(Color.black);
-        scoreLabel = new JLabel("Score: " + score);
-        scoreLabel.setFont(scoreLabel.getFont().deriveFont(20.0F));
-        scoreLabel.setForeground(Color.white);
-        this.add(scoreLabel, BorderLayout.WEST);
+        scoreLabel = createLabel("Score: 0", 20.0F);
+        livesLabel = createLabel("Lives: ", 14.0F);
+        levelLabel = createLabel("Level: ", 14.0F);
+        fpsLabel = createLabel("FPS: ", 14.0F);
     }
 
-    public void updateScore(int incrScore) {
-        this.score += incrScore;
-        this.scoreLabel.setText("Score: " + score);
+    private JLabel createLabel(String text, float fontSize) {
+        JLabel label = new JLabel(text);
+        label.setFont(label.getFont().deriveFont(fontSize));
+        label.setForeground(Color.white);
+        this.add(label, BorderLayout.WEST);
+        return label;
     }
 
-    public int getScore() {
-        return score;
+    //Starts showing the values of "hud" ; may be called from any thread
+    public void showHud(HudState hud) {
+        SwingUtilities.invokeLater(() -> {
+            fpsFrames = hud.getFrames();
+            fpsStart = System.nanoTime();
+            refresh(hud);
+            new Timer(1000 / REFRESH_HZ, e -> refresh(hud)).start();
+        });
+    }
+
+    //Runs on the EDT : reads the snapshot and only touches the labels whose value changed
+    private void refresh(HudState hud) {
+        int score = hud.getScore();
+        if (score != shownScore) {
+            shownScore = score;
+            scoreLabel.setText("Score: " + score);
+        }
+
+        int lives = hud.getLives();
+        if (lives != shownLives) {
+            shownLives = lives;
+            livesLabel.setText("Lives: " + lives);
+        }
+
+        int level = hud.getLevel();
+        if (level != shownLevel) {
+            shownLevel = level;
+            levelLabel.setText("Level: " + level);
+        }
+
+        long now = System.nanoTime();
+        if (now - fpsStart >= FPS_WINDOW_NANOS) {
+            long frames = hud.getFrames();
+            int fps = (int) Math.round((frames - fpsFrames) * 1e9 / (now - fpsStart));
+            fpsFrames = frames;
+            fpsStart = now;
+            if (fps != shownFps) {
+                shownFps = fps;
+                fpsLabel.setText("FPS: " + fps);
+            }
+        }
     }
 
-    //L'interface est notifiée lorsque Pacman est en contact avec une PacGum, une SuperPacGum ou un fantôme, et on met à jour le score affiché en conséquence
-    @Override
-    public void updatePacGumEaten(PacGum pg) {
-        updateScore(10);
+    //Adds a text overlay with the frame and tick timings, refreshed twice per second on the EDT
+    public void showMetrics(GameMetrics metrics) {
+        SwingUtilities.invokeLater(() -> {
+            JLabel metricsLabel = new JLabel();
+            metricsLabel.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 10));
+            metricsLabel.setForeground(Color.lightGray);
+            this.add(metricsLabel);
+            revalidate();
+
+            new Timer(500, e -> metricsLabel.setText(metricsText(metrics))).start();
+        });
     }
 
-    @Override
-    public void updateSuperPacGumEaten(SuperPacGum spg) {
-        updateScore(100);
+    private static String metricsText(GameMetrics metrics) {
+        StringBuilder text = new StringBuilder("<html>");
+        appendSnapshots(text, metrics.getPhases());
+        appendSnapshots(text, metrics.getEntityUpdates());
+        appendSnapshots(text, metrics.getGhostNextDirections());
+        text.append("ticks ").append(metrics.getTicks()).append("  dropped ").append(metrics.getDroppedTicks());
+        return text.append("</html>").toString();
     }
 
-    @Override
-    public void updateGhostCollision(Ghost gh) {
-        if (gh.getState() instanceof FrightenedMode) { //Dans le cas où Pacman est en contact avec un fantôme on ne met à jour le score que lorsque ce dernier est en mode "frightened"
-            updateScore(500);
-        }
+    private static void appendSnapshots(StringBuilder text, Map<String, HistogramSnapshot> snapshots) {
+        snapshots.forEach((name, s) -> text.append(name).append("<br>&nbsp;").append(s).append("<br>"));
     }
 }
@@ -0,0 +1,30 @@
+package game.clock;
+
+//Frames paced in real time, each one running exactly "factor" ticks : the game runs N times faster, and the ticks run do not depend on the timing
+//A late frame is not caught up, it only pushes back the next deadline
+public class AcceleratedClock implements IGameClock {
+    private final long frameNanos;
+    private final int factor;
+
+    private long nextFrame = Long.MIN_VALUE;
+
+    public AcceleratedClock(double framesPerSecond, int factor) {
+        this.frameNanos = (long) (1_000_000_000L / framesPerSecond);
+        this.factor = factor;
+    }
+
+    @Override
+    public int awaitFrame() {
+        long now = System.nanoTime();
+        if (nextFrame == Long.MIN_VALUE) nextFrame = now + frameNanos;
+
+        now = RealTimeClock.parkUntil(nextFrame);
+        nextFrame = Math.max(nextFrame + frameNanos, now);
+        return factor;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return 0;
+    }
+}
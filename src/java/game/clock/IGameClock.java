@@ -0,0 +1,8 @@
+package game.clock;
+
+//Interface for what paces the game loop : it decides when the next frame is due and how many fixed ticks run before it is rendered
+public interface IGameClock {
+    int awaitFrame(); //Blocks until the next frame is due, then returns the number of ticks to run before rendering it
+
+    long getDroppedTicks(); //Ticks skipped so far because the game fell too far behind
+}
@@ -0,0 +1,55 @@
+package game.clock;
+
+import java.util.concurrent.locks.LockSupport;
+
+//Real-time fixed timestep : ticks run at "ticksPerSecond" on average, whatever the time spent on each frame
+//A late frame catches up by running several ticks, up to "maxTicksPerFrame" ; beyond that, the ticks are dropped and counted
+//The thread is parked until the next tick deadline instead of spinning on yield/sleep(1)
+public class RealTimeClock implements IGameClock {
+    private final long tickNanos;
+    private final int maxTicksPerFrame;
+
+    private long nextTick = Long.MIN_VALUE;
+    private long droppedTicks = 0;
+
+    public RealTimeClock(double ticksPerSecond, int maxTicksPerFrame) {
+        this.tickNanos = (long) (1_000_000_000L / ticksPerSecond);
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    @Override
+    public int awaitFrame() {
+        long now = System.nanoTime();
+        if (nextTick == Long.MIN_VALUE) nextTick = now + tickNanos;
+
+        now = parkUntil(nextTick);
+
+        int ticks = 0;
+        while (now - nextTick >= 0 && ticks < maxTicksPerFrame) {
+            nextTick += tickNanos;
+            ticks++;
+        }
+
+        if (now - nextTick >= 0) {
+            long behind = (now - nextTick) / tickNanos + 1;
+            droppedTicks += behind;
+            nextTick += behind * tickNanos;
+        }
+        return ticks;
+    }
+
+    //Parks the calling thread until System.nanoTime() reaches "deadline", and returns the time it woke up at
+    static long parkUntil(long deadline) {
+        long now = System.nanoTime();
+        while (deadline - now > 0) {
+            LockSupport.parkNanos(deadline - now);
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
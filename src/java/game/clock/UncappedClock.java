@@ -0,0 +1,20 @@
+package game.clock;
+
+//No pacing at all : every frame is due immediately, so the game runs as fast as the CPU allows
+public class UncappedClock implements IGameClock {
+    private final int ticksPerFrame;
+
+    public UncappedClock(int ticksPerFrame) {
+        this.ticksPerFrame = ticksPerFrame;
+    }
+
+    @Override
+    public int awaitFrame() {
+        return ticksPerFrame;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return 0;
+    }
+}
@@ -1,32 +1,31 @@
 package game.entities;
 
-import game.GameplayPanel;
-import javax.imageio.ImageIO;
+import game.Game;
+import game.utils.ResourceCache;
+import game.utils.SpriteAtlas;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 //Classe abtraite pour décrire une entité mouvante
 public abstract class MovingEntity extends Entity {
+    protected final Game game;
     protected int spd;
     protected int xSpd = 0;
     protected int ySpd = 0;
     protected BufferedImage sprite;
+    protected SpriteAtlas atlas; //Frames of the sprite, cut on first render
     protected float subimage = 0;
     protected int nbSubimagesPerCycle;
     protected int direction = 0;
     protected float imageSpd = 0.2f;
 
-    public MovingEntity(int size, int xPos, int yPos, int spd, String spriteName, int nbSubimagesPerCycle, float imageSpd) {
+    public MovingEntity(Game game, int size, int xPos, int yPos, int spd, String spriteName, int nbSubimagesPerCycle, float imageSpd) {
         super(size, xPos, yPos);
+        this.game = game;
         this.spd = spd;
-        try {
-            this.sprite = ImageIO.read(getClass().getClassLoader().getResource("img/" + spriteName));
-            this.nbSubimagesPerCycle = nbSubimagesPerCycle;
-            this.imageSpd = imageSpd;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        this.sprite = ResourceCache.getImage("img/" + spriteName);
+        this.nbSubimagesPerCycle = nbSubimagesPerCycle;
+        this.imageSpd = imageSpd;
     }
 
     @Override
@@ -59,20 +58,20 @@ public abstract class MovingEntity extends Entity {
         }
 
         //Si l'entité va au dela des bords de la zone de jeu, elle passe de l'autre côté
-        if (xPos > GameplayPanel.width) {
+        if (xPos > game.getWidth()) {
             xPos = 0 - size + spd;
         }
 
         if (xPos < 0 - size + spd) {
-            xPos = GameplayPanel.width;
+            xPos = game.getWidth();
         }
 
-        if (yPos > GameplayPanel.height) {
+        if (yPos > game.getHeight()) {
             yPos = 0 - size + spd;
         }
 
         if (yPos < 0 - size + spd) {
-            yPos = GameplayPanel.height;
+            yPos = game.getHeight();
         }
     }
 
@@ -80,7 +79,14 @@ public abstract class MovingEntity extends Entity {
     public void render(Graphics2D g) {
         //Par défaut, on considère que chaque "sprite" contient 4 variations de l'animation correspondant à une direction et chaque animation a un certain nombre d'images
         //En sachant cela, on affiche seulement la partie de l'image du sprite correspondant à la bonne direction et à la bonne frame de l'animation
-        g.drawImage(sprite.getSubimage((int)subimage * size + direction * size * nbSubimagesPerCycle, 0, size, size), this.xPos, this.yPos,null);
+        g.drawImage(getAtlas().getFrame(direction, (int)subimage), this.xPos, this.yPos,null);
+    }
+
+    public SpriteAtlas getAtlas() {
+        if (atlas == null) {
+            atlas = new SpriteAtlas(sprite, size, 4, nbSubimagesPerCycle);
+        }
+        return atlas;
     }
 
     //Méthode pour savoir si l'entité est bien positionnée sur une case de la grille de la zone de jeu ou non
@@ -89,26 +95,34 @@ public abstract class MovingEntity extends Entity {
     }
 
     //Méthode pour savoir si l'entité est dans la zone de jeu ou non
-    public boolean onGameplayWindow() { return !(xPos<=0 || xPos>= GameplayPanel.width || yPos<=0 || yPos>= GameplayPanel.height); }
+    public boolean onGameplayWindow() { return !(xPos<=0 || xPos>= game.getWidth() || yPos<=0 || yPos>= game.getHeight()); }
 
     public Rectangle getHitbox() {
         return new Rectangle(xPos, yPos, size, size);
     }
 
+    //Moves the entity without any collision check, for tools which set up a situation (benchmarks, agents)
+    public void setPosition(int xPos, int yPos) {
+        this.xPos = xPos;
+        this.yPos = yPos;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
     public BufferedImage getSprite() {
         return sprite;
     }
 
     public void setSprite(BufferedImage sprite) {
         this.sprite = sprite;
+        this.atlas = null;
     }
 
     public void setSprite(String spriteName) {
-        try {
-            this.sprite = ImageIO.read(getClass().getClassLoader().getResource("img/" + spriteName));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        this.sprite = ResourceCache.getImage("img/" + spriteName);
+        this.atlas = null;
     }
 
     public float getSubimage() {
@@ -125,6 +139,7 @@ public abstract class MovingEntity extends Entity {
 
     public void setNbSubimagesPerCycle(int nbSubimagesPerCycle) {
         this.nbSubimagesPerCycle = nbSubimagesPerCycle;
+        this.atlas = null;
     }
 
     public int getDirection() {
@@ -16,8 +16,8 @@ public class Pacman extends MovingEntity implements Sujet {
     private CollisionDetector collisionDetector;
     private List<Observer> observerCollection;
 
-    public Pacman(int xPos, int yPos) {
-        super(32, xPos, yPos, 2, "pacman.png", 4, 0.3f);
+    public Pacman(Game game, int xPos, int yPos) {
+        super(game, 32, xPos, yPos, 2, "pacman.png", 4, 0.3f);
         observerCollection = new ArrayList<>();
     }
 
@@ -45,7 +45,7 @@ public class Pacman extends MovingEntity implements Sujet {
 
         if (new_xSpd == 0 && new_ySpd == 0) return;
 
-        if (!Game.getFirstInput()) Game.setFirstInput(true);
+        if (!game.getFirstInput()) game.setFirstInput(true);
 
         if (Math.abs(new_xSpd) != Math.abs(new_ySpd)) {
             xSpd = new_xSpd;
@@ -101,16 +101,22 @@ public class Pacman extends MovingEntity implements Sujet {
 
     @Override
     public void notifyObserverPacGumEaten(PacGum pg) {
-        observerCollection.forEach(obs -> obs.updatePacGumEaten(pg));
+        for (int i = 0; i < observerCollection.size(); i++) {
+            observerCollection.get(i).updatePacGumEaten(pg);
+        }
     }
 
     @Override
     public void notifyObserverSuperPacGumEaten(SuperPacGum spg) {
-        observerCollection.forEach(obs -> obs.updateSuperPacGumEaten(spg));
+        for (int i = 0; i < observerCollection.size(); i++) {
+            observerCollection.get(i).updateSuperPacGumEaten(spg);
+        }
     }
 
     @Override
     public void notifyObserverGhostCollision(Ghost gh) {
-        observerCollection.forEach(obs -> obs.updateGhostCollision(gh));
+        for (int i = 0; i < observerCollection.size(); i++) {
+            observerCollection.get(i).updateGhostCollision(gh);
+        }
     }
 }
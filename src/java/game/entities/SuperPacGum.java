@@ -13,12 +13,16 @@ public class SuperPacGum extends StaticEntity {
     @Override
     public void render(Graphics2D g) {
         //Pour faire en sorte que les SuperPacGums clignotent, on ne fait le rendu que 30 frames sur 60.
-        if (frameCount%60 < 30) {
+        if (isVisible()) {
             g.setColor(new Color(255, 183, 174));
             g.fillOval(this.xPos, this.yPos, this.size, this.size);
         }
     }
 
+    public boolean isVisible() {
+        return frameCount%60 < 30;
+    }
+
     @Override
     public void update() {
         frameCount++;
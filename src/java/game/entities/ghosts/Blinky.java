@@ -1,11 +1,12 @@
 package game.entities.ghosts;
 
+import game.Game;
 import game.ghostStrategies.BlinkyStrategy;
 
 //Classe concrète de Blinky (le fantôme rouge)
 public class Blinky extends Ghost {
-    public Blinky(int xPos, int yPos) {
-        super(xPos, yPos, "blinky.png");
-        setStrategy(new BlinkyStrategy());
+    public Blinky(Game game, int xPos, int yPos) {
+        super(game, xPos, yPos, "blinky.png");
+        setStrategy(new BlinkyStrategy(this));
     }
 }
@@ -1,11 +1,12 @@
 package game.entities.ghosts;
 
+import game.Game;
 import game.ghostStrategies.ClydeStrategy;
 
 //Classe concrète de Clyde (le fantôme jaune)
 public class Clyde extends Ghost {
-    public Clyde(int xPos, int yPos) {
-        super(xPos, yPos, "clyde.png");
+    public Clyde(Game game, int xPos, int yPos) {
+        super(game, xPos, yPos, "clyde.png");
         setStrategy(new ClydeStrategy(this));
     }
 }
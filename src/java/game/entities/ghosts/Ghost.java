@@ -4,11 +4,13 @@ import game.Game;
 import game.entities.MovingEntity;
 import game.ghostStates.*;
 import game.ghostStrategies.IGhostStrategy;
+import game.utils.GameRandom;
+import game.utils.ResourceCache;
+import game.utils.SpriteAtlas;
+import game.utils.WallCollisionDetector;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 /**
  * Abstract class for ghosts.
@@ -28,14 +30,25 @@ public abstract class Ghost extends MovingEntity {
     protected int frightenedTimer = 0;
     protected boolean isChasing = false;
 
-    protected static BufferedImage frightenedSprite1;
-    protected static BufferedImage frightenedSprite2;
-    protected static BufferedImage eatenSprite;
+    protected static final BufferedImage frightenedSprite1 = ResourceCache.getImage("img/ghost_frightened.png");
+    protected static final BufferedImage frightenedSprite2 = ResourceCache.getImage("img/ghost_frightened_2.png");
+    protected static final BufferedImage eatenSprite = ResourceCache.getImage("img/ghost_eaten.png");
+
+    // Size and frames per cycle of every ghost sprite
+    private static final int SIZE = 32;
+    private static final int NB_SUBIMAGES = 2;
 
     protected IGhostStrategy strategy;
 
-    public Ghost(int xPos, int yPos, String spriteName) {
-        super(32, xPos, yPos, 2, spriteName, 2, 0.1f);
+    // Random numbers of this ghost, split from those of the game
+    protected final GameRandom random;
+
+    // Direction imposed by an external agent (see game.simulation.Environment), -1 to let the state decide
+    protected int forcedDirection = -1;
+
+    public Ghost(Game game, int xPos, int yPos, String spriteName) {
+        super(game, SIZE, xPos, yPos, 2, spriteName, NB_SUBIMAGES, 0.1f);
+        random = game.getRandom().split();
 
         // Create all ghost states
         chaseMode = new ChaseMode(this);
@@ -46,15 +59,6 @@ public abstract class Ghost extends MovingEntity {
 
         // Initial state
         state = houseMode;
-
-        // Load sprites
-        try {
-            frightenedSprite1 = ImageIO.read(getClass().getClassLoader().getResource("img/ghost_frightened.png"));
-            frightenedSprite2 = ImageIO.read(getClass().getClassLoader().getResource("img/ghost_frightened_2.png"));
-            eatenSprite = ImageIO.read(getClass().getClassLoader().getResource("img/ghost_eaten.png"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
     }
 
     // -------- STATE SWITCHES --------
@@ -75,22 +79,27 @@ public abstract class Ghost extends MovingEntity {
         else switchScatterMode();
     }
 
+    public GameRandom getRandom() { return random; }
+
     public IGhostStrategy getStrategy() { return this.strategy; }
     public void setStrategy(IGhostStrategy strategy) { this.strategy = strategy; }
 
     public GhostState getState() { return state; }
 
+    public int getForcedDirection() { return forcedDirection; }
+    public void setForcedDirection(int forcedDirection) { this.forcedDirection = forcedDirection; }
+
 
     // -------- MAIN UPDATE LOGIC --------
 
     @Override
     public void update() {
 
-        // 🔥 Freeze all ghosts except Blinky (testing mode)
-        if (!(this instanceof game.entities.ghosts.Blinky)) return;
+        // 🔥 Freeze all ghosts except Blinky (testing mode), unless an external agent drives them
+        if (!(this instanceof game.entities.ghosts.Blinky) && forcedDirection < 0) return;
 
         // Ghosts do not move until Pac-Man moves
-        if (!Game.getFirstInput()) return;
+        if (!game.getFirstInput()) return;
 
         // Frightened mode timer
         if (state == frightenedMode) {
@@ -122,16 +131,44 @@ public abstract class Ghost extends MovingEntity {
             state.insideHouse();
         }
 
-        // Compute movement direction based on state & strategy
-        state.computeNextDir();
+        // Compute movement direction based on state & strategy (or take the one imposed by an agent)
+        if (forcedDirection >= 0) applyForcedDirection();
+        else if (game.getMetrics() == null) state.computeNextDir();
+        else {
+            long start = System.nanoTime();
+            state.computeNextDir();
+            game.getMetrics().ghostNextDirection(state.getClass()).recordSince(start);
+        }
 
         // Move ghost
         updatePosition();
     }
 
 
+    // Same rules as the states : a new direction is only taken on a grid cell, and only if there is no wall that way
+    private void applyForcedDirection() {
+        if (!onTheGrid() || !onGameplayWindow()) return;
+
+        int new_xSpd = forcedDirection == 0 ? spd : forcedDirection == 1 ? -spd : 0;
+        int new_ySpd = forcedDirection == 3 ? spd : forcedDirection == 2 ? -spd : 0;
+
+        if (WallCollisionDetector.checkWallCollision(this, new_xSpd, new_ySpd, state.ignoresGhostHouses())) return;
+
+        xSpd = new_xSpd;
+        ySpd = new_ySpd;
+    }
+
+
     // -------- RENDERING --------
 
+    // Frames of the shared sprites, cut once for all ghosts when the first one is rendered.
+    // Frightened sheets : one row of subimages with no direction ; eaten sheet : one frame per direction
+    private static final class SharedAtlases {
+        static final SpriteAtlas frightened1 = new SpriteAtlas(frightenedSprite1, SIZE, 1, NB_SUBIMAGES);
+        static final SpriteAtlas frightened2 = new SpriteAtlas(frightenedSprite2, SIZE, 1, NB_SUBIMAGES);
+        static final SpriteAtlas eaten = new SpriteAtlas(eatenSprite, SIZE, 4, 1);
+    }
+
     @Override
     public void render(Graphics2D g) {
 
@@ -139,41 +176,20 @@ public abstract class Ghost extends MovingEntity {
 
             // Flickering effect near end of frightened time
             if (frightenedTimer <= (60 * 5) || frightenedTimer % 20 > 10) {
-                g.drawImage(
-                        frightenedSprite1.getSubimage((int) subimage * size, 0, size, size),
-                        this.xPos, this.yPos,
-                        null
-                );
+                g.drawImage(SharedAtlases.frightened1.getFrame(0, (int) subimage), this.xPos, this.yPos, null);
             } else {
-                g.drawImage(
-                        frightenedSprite2.getSubimage((int) subimage * size, 0, size, size),
-                        this.xPos, this.yPos,
-                        null
-                );
+                g.drawImage(SharedAtlases.frightened2.getFrame(0, (int) subimage), this.xPos, this.yPos, null);
             }
 
         } else if (state == eatenMode) {
 
             // Draw only the eyes (eaten ghost)
-            g.drawImage(
-                    eatenSprite.getSubimage(direction * size, 0, size, size),
-                    this.xPos, this.yPos,
-                    null
-            );
+            g.drawImage(SharedAtlases.eaten.getFrame(direction, 0), this.xPos, this.yPos, null);
 
         } else {
 
             // Normal ghost sprite
-            g.drawImage(
-                    sprite.getSubimage(
-                            (int) subimage * size + direction * size * nbSubimagesPerCycle,
-                            0,
-                            size,
-                            size
-                    ),
-                    this.xPos, this.yPos,
-                    null
-            );
+            g.drawImage(getAtlas().getFrame(direction, (int) subimage), this.xPos, this.yPos, null);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
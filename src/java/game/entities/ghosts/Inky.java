@@ -5,8 +5,8 @@ import game.ghostStrategies.InkyStrategy;
 
 //Classe concrète de Inky (le fantôme bleu)
 public class Inky extends Ghost {
-    public Inky(int xPos, int yPos) {
-        super(xPos, yPos, "inky.png");
-        setStrategy(new InkyStrategy(Game.getBlinky()));
+    public Inky(Game game, int xPos, int yPos) {
+        super(game, xPos, yPos, "inky.png");
+        setStrategy(new InkyStrategy(game.getBlinky()));
     }
 }
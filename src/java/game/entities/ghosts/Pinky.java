@@ -1,11 +1,12 @@
 package game.entities.ghosts;
 
+import game.Game;
 import game.ghostStrategies.PinkyStrategy;
 
 //Classe concrète de Pinky (le fantôme rose)
 public class Pinky extends Ghost {
-    public Pinky(int xPos, int yPos) {
-        super(xPos, yPos, "pinky.png");
-        setStrategy(new PinkyStrategy());
+    public Pinky(Game game, int xPos, int yPos) {
+        super(game, xPos, yPos, "pinky.png");
+        setStrategy(new PinkyStrategy(this));
     }
 }
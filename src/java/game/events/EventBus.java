@@ -0,0 +1,78 @@
+package game.events;
+
+import game.entities.Entity;
+
+import java.util.Arrays;
+
+//Events of a game, collected during the tick in a ring of preallocated GameEvents and dispatched once at its end, on the game thread
+//Nothing is allocated once the ring is large enough for the busiest tick
+//Swing never subscribes : the UI panel reads a HudState snapshot on its own timer, which coalesces the updates of any number of ticks without handing events to the EDT
+public class EventBus {
+    private GameEvent[] ring;
+    private int mask;
+    private long head = 0; //Next event to dispatch
+    private long tail = 0; //Next slot to fill
+
+    private GameEventListener[] listeners = new GameEventListener[4];
+    private int listenerCount = 0;
+
+    public EventBus() {
+        this(64);
+    }
+
+    //capacity : number of events a tick may publish before the ring grows (rounded up to a power of two)
+    public EventBus(int capacity) {
+        ring = events(Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        mask = ring.length - 1;
+    }
+
+    private static GameEvent[] events(int count) {
+        GameEvent[] events = new GameEvent[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new GameEvent();
+        }
+        return events;
+    }
+
+    public void subscribe(GameEventListener listener) {
+        if (listenerCount == listeners.length) listeners = Arrays.copyOf(listeners, listenerCount * 2);
+        listeners[listenerCount++] = listener;
+    }
+
+    public void publish(GameEvent.Type type, Entity entity, long tick) {
+        if (tail - head == ring.length) grow();
+        ring[(int) (tail & mask)].set(type, entity, tick);
+        tail++;
+    }
+
+    //Doubles the ring, keeping the pending events in order
+    private void grow() {
+        GameEvent[] larger = new GameEvent[ring.length * 2];
+        int pending = (int) (tail - head);
+        for (int i = 0; i < pending; i++) {
+            larger[i] = ring[(int) ((head + i) & mask)];
+        }
+        for (int i = pending; i < larger.length; i++) {
+            larger[i] = new GameEvent();
+        }
+        ring = larger;
+        mask = ring.length - 1;
+        head = 0;
+        tail = pending;
+    }
+
+    //Delivers the events published since the last call, in order, to every listener ; called by the game at the end of each tick
+    public void dispatch() {
+        //A listener may publish while being notified : its events are delivered in this same loop
+        //A listener subscribed while being notified receives the events after the current one
+        while (head < tail) {
+            GameEvent event = ring[(int) (head & mask)];
+            int count = listenerCount;
+            for (int l = 0; l < count; l++) {
+                event.deliverTo(listeners[l]);
+            }
+            event.clear();
+            head++;
+        }
+    }
+}
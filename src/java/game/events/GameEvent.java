@@ -0,0 +1,47 @@
+package game.events;
+
+import game.entities.Entity;
+import game.entities.PacGum;
+import game.entities.SuperPacGum;
+import game.entities.ghosts.Ghost;
+
+//One event of a tick ; the bus owns a fixed set of them and reuses them from one tick to the next
+public final class GameEvent {
+    public enum Type { PAC_GUM_EATEN, SUPER_PAC_GUM_EATEN, GHOST_EATEN, PACMAN_CAUGHT }
+
+    private Type type;
+    private Entity entity;
+    private long tick;
+
+    void set(Type type, Entity entity, long tick) {
+        this.type = type;
+        this.entity = entity;
+        this.tick = tick;
+    }
+
+    //Drops the reference to the entity once the event has been delivered
+    void clear() {
+        set(null, null, 0);
+    }
+
+    void deliverTo(GameEventListener listener) {
+        switch (type) {
+            case PAC_GUM_EATEN: listener.onPacGumEaten((PacGum) entity); break;
+            case SUPER_PAC_GUM_EATEN: listener.onSuperPacGumEaten((SuperPacGum) entity); break;
+            case GHOST_EATEN: listener.onGhostEaten((Ghost) entity); break;
+            case PACMAN_CAUGHT: listener.onPacmanCaught((Ghost) entity); break;
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,19 @@
+package game.events;
+
+import game.entities.PacGum;
+import game.entities.SuperPacGum;
+import game.entities.ghosts.Ghost;
+
+//Subscriber of the EventBus : the events of a tick are delivered once the tick is over, so a listener sees the outcome the game gave them
+//(an eaten pellet is already destroyed, but its hitbox keeps its position)
+public interface GameEventListener {
+    default void onPacGumEaten(PacGum pg) {}
+
+    default void onSuperPacGumEaten(SuperPacGum spg) {}
+
+    //Pac-Man ate a frightened ghost
+    default void onGhostEaten(Ghost gh) {}
+
+    //A ghost caught Pac-Man : the game is over
+    default void onPacmanCaught(Ghost gh) {}
+}
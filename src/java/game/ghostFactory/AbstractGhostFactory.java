@@ -1,9 +1,10 @@
 package game.ghostFactory;
 
+import game.Game;
 import game.entities.ghosts.*;
 
 //Abstract Factory pour créer les différents fantômes concrets à partir de constructeurs différents
 public abstract class AbstractGhostFactory {
-    public abstract Ghost makeGhost(int xPos, int yPos);
+    public abstract Ghost makeGhost(Game game, int xPos, int yPos);
 }
 
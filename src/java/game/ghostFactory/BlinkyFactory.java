@@ -1,12 +1,13 @@
 package game.ghostFactory;
 
+import game.Game;
 import game.entities.ghosts.Blinky;
 import game.entities.ghosts.Ghost;
 
 //Factory concrète pour créer des fantômes Blinky
 public class BlinkyFactory extends AbstractGhostFactory {
     @Override
-    public Ghost makeGhost(int xPos, int yPos) {
-        return new Blinky(xPos, yPos);
+    public Ghost makeGhost(Game game, int xPos, int yPos) {
+        return new Blinky(game, xPos, yPos);
     }
 }
@@ -1,12 +1,13 @@
 package game.ghostFactory;
 
+import game.Game;
 import game.entities.ghosts.Clyde;
 import game.entities.ghosts.Ghost;
 
 //Factory concrète pour créer des fantômes Clyde
 public class ClydeFactory extends AbstractGhostFactory {
     @Override
-    public Ghost makeGhost(int xPos, int yPos) {
-        return new Clyde(xPos, yPos);
+    public Ghost makeGhost(Game game, int xPos, int yPos) {
+        return new Clyde(game, xPos, yPos);
     }
 }
@@ -1,12 +1,13 @@
 package game.ghostFactory;
 
+import game.Game;
 import game.entities.ghosts.Ghost;
 import game.entities.ghosts.Inky;
 
 //Factory concrète pour créer des fantômes Inky
 public class InkyFactory extends AbstractGhostFactory {
     @Override
-    public Ghost makeGhost(int xPos, int yPos) {
-        return new Inky(xPos, yPos);
+    public Ghost makeGhost(Game game, int xPos, int yPos) {
+        return new Inky(game, xPos, yPos);
     }
 }
@@ -1,12 +1,13 @@
 package game.ghostFactory;
 
+import game.Game;
 import game.entities.ghosts.Ghost;
 import game.entities.ghosts.Pinky;
 
 //Factory concrète pour créer des fantômes Pinky
 public class PinkyFactory extends AbstractGhostFactory {
     @Override
-    public Ghost makeGhost(int xPos, int yPos) {
-        return new Pinky(xPos, yPos);
+    public Ghost makeGhost(Game game, int xPos, int yPos) {
+        return new Pinky(game, xPos, yPos);
     }
 }
@@ -1,8 +1,7 @@
 package game.ghostStates;
 
 import game.entities.ghosts.Ghost;
-import game.utils.Utils;
-import jdk.jshell.execution.Util;
+import game.utils.GameRandom;
 
 //Classe pour décrire l'état concret d'un fantôme effrayé (après que Pacman ait mangé une SuperPacGum)
 public class FrightenedMode extends GhostState{
@@ -25,11 +24,10 @@ public class FrightenedMode extends GhostState{
     //Dans cet état, la position ciblée est une case aléatoire autour du fantôme
     @Override
     public int[] getTargetPosition(){
-        int[] position = new int[2];
-
-        boolean randomAxis = Utils.randomBool();
-        position[0] = ghost.getxPos() + (randomAxis ? Utils.randomInt(-1,1) * 32 : 0);
-        position[1] = ghost.getyPos() + (!randomAxis ? Utils.randomInt(-1,1) * 32 : 0);
-        return position;
+        GameRandom random = ghost.getRandom();
+        boolean randomAxis = random.nextBoolean();
+        target[0] = ghost.getxPos() + (randomAxis ? random.nextInt(-1,1) * 32 : 0);
+        target[1] = ghost.getyPos() + (!randomAxis ? random.nextInt(-1,1) * 32 : 0);
+        return target;
     }
 }
@@ -1,13 +1,18 @@
 package game.ghostStates;
 
 import game.entities.ghosts.Ghost;
-import game.utils.Utils;
 import game.utils.WallCollisionDetector;
 
 //Classe abstrate pour décrire les différents états de fantômes
 public abstract class GhostState {
+    private static final int[] CANDIDATE_DX = {-1, 1, 0, 0};
+    private static final int[] CANDIDATE_DY = {0, 0, -1, 1};
+
     protected Ghost ghost;
 
+    //Target returned by getTargetPosition(), reused for every answer : callers only read it before the next query
+    protected final int[] target = new int[2];
+
     public GhostState(Ghost ghost) {
         this.ghost = ghost;
     }
@@ -21,76 +26,56 @@ public abstract class GhostState {
     public void insideHouse() {}
 
     public int[] getTargetPosition(){
-        return new int[2];
+        target[0] = 0;
+        target[1] = 0;
+        return target;
     } //retourne le point que va cibler le fantôme
 
-    //Méthode pour calculer la prochaine direction que le fantôme va prendre
-    public void computeNextDir() {
-        int new_xSpd = 0;
-        int new_ySpd = 0;
+    //Vrai si le fantôme peut traverser les murs de la maison des fantômes dans cet état
+    public boolean ignoresGhostHouses() {
+        return false;
+    }
 
+    //Méthode pour calculer la prochaine direction que le fantôme va prendre
+    //Parmi les directions possibles (sans mur, et sans faire demi-tour), le fantôme prend celle qui le rapproche le plus de la cible
+    //The target is computed at most once per decision (only if a direction is possible), and every candidate is compared against that same target
+    public final void computeNextDir() {
         if (!ghost.onTheGrid()) return; //Le fantôme doit être sur une "case" de la zone de jeu
         if (!ghost.onGameplayWindow()) return;  //Le fantôme doit être dans la zone de jeu
 
-        double minDist = Double.MAX_VALUE; //distance minimale courante entre le fantôme et la cible selon sa prochaine direction
-
-        //Si le fantôme va actuellement vers la gauche et qu'il n'y a pas de mur à gauche...
-        if (ghost.getxSpd() <= 0 && !WallCollisionDetector.checkWallCollision(ghost, -ghost.getSpd(), 0)) {
-            //On regarde la distance entre la position ciblée et la position potentielle du fantôme si ce dernier irait vers la gauche
-            double distance = Utils.getDistance(ghost.getxPos() - ghost.getSpd(), ghost.getyPos(), getTargetPosition()[0], getTargetPosition()[1]);
+        int spd = ghost.getSpd();
+        boolean ignoreGhostHouses = ignoresGhostHouses();
 
-            //Si cette distance est inférieure à la distance minimale courante, on dit que le fantôme va vers la gauche et on met à jour la distance minimale
-            if (distance < minDist) {
-                new_xSpd = -ghost.getSpd();
-                new_ySpd = 0;
-                minDist = distance;
-            }
-        }
+        int new_xSpd = 0;
+        int new_ySpd = 0;
+        long minDist = Long.MAX_VALUE; //distance minimale courante (au carré) entre le fantôme et la cible selon sa prochaine direction
+        int[] targetPosition = null;
 
-        //Même chose en testant vers la droite
-        if (ghost.getxSpd() >= 0 && !WallCollisionDetector.checkWallCollision(ghost, ghost.getSpd(), 0)) {
-            double distance = Utils.getDistance(ghost.getxPos() + ghost.getSpd(), ghost.getyPos(),  getTargetPosition()[0], getTargetPosition()[1]);
-            if (distance < minDist) {
-                new_xSpd = ghost.getSpd();
-                new_ySpd = 0;
-                minDist = distance;
-            }
-        }
+        //Dans l'ordre : gauche, droite, haut, bas ; en cas d'égalité, la première direction testée l'emporte
+        for (int d = 0; d < 4; d++) {
+            int dx = CANDIDATE_DX[d] * spd;
+            int dy = CANDIDATE_DY[d] * spd;
 
-        //Même chose en testant vers le haut
-        if (ghost.getySpd() <= 0 && !WallCollisionDetector.checkWallCollision(ghost, 0, -ghost.getSpd())) {
-            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() - ghost.getSpd(), getTargetPosition()[0], getTargetPosition()[1]);
-            if (distance < minDist) {
-                new_xSpd = 0;
-                new_ySpd = -ghost.getSpd();
-                minDist = distance;
-            }
-        }
+            //Pas de demi-tour : on ne va pas vers la gauche si le fantôme va vers la droite, etc.
+            if (dx < 0 && ghost.getxSpd() > 0 || dx > 0 && ghost.getxSpd() < 0) continue;
+            if (dy < 0 && ghost.getySpd() > 0 || dy > 0 && ghost.getySpd() < 0) continue;
+            if (WallCollisionDetector.checkWallCollision(ghost, dx, dy, ignoreGhostHouses)) continue;
 
-        //Même chose en testant vers le bas
-        if (ghost.getySpd() >= 0 && !WallCollisionDetector.checkWallCollision(ghost, 0, ghost.getSpd())) {
-            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() + ghost.getSpd(), getTargetPosition()[0], getTargetPosition()[1]);
+            if (targetPosition == null) targetPosition = getTargetPosition();
+            long distX = ghost.getxPos() + dx - targetPosition[0];
+            long distY = ghost.getyPos() + dy - targetPosition[1];
+            long distance = distX * distX + distY * distY;
             if (distance < minDist) {
-                new_xSpd = 0;
-                new_ySpd = ghost.getSpd();
+                new_xSpd = dx;
+                new_ySpd = dy;
                 minDist = distance;
             }
         }
 
         if (new_xSpd == 0 && new_ySpd == 0) return;
 
-        //Une fois tous les cas testés, on change la direction du fantôme (au cas où, comme cette direction est définie par une vitesse horizontale et une vitesse verticale, on fait quand même une vérification afin qu'il ne puisse pas aller en diagonale)
-        if (Math.abs(new_xSpd) != Math.abs(new_ySpd)) {
-            ghost.setxSpd(new_xSpd);
-            ghost.setySpd(new_ySpd);
-        } else {
-            if (new_xSpd != 0) {
-                ghost.setxSpd(0);
-                ghost.setxSpd(new_ySpd);
-            }else{
-                ghost.setxSpd(new_xSpd);
-                ghost.setySpd(0);
-            }
-        }
+        //Une seule des deux vitesses est non nulle : le fantôme ne peut pas aller en diagonale
+        ghost.setxSpd(new_xSpd);
+        ghost.setySpd(new_ySpd);
     }
 }
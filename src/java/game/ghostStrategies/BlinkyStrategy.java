@@ -1,104 +1,53 @@
 package game.ghostStrategies;
 
 import game.Game;
-
-import java.util.*;
+import game.entities.ghosts.Ghost;
+import game.utils.MazeGraph;
+import game.utils.PathTrace;
 
 public class BlinkyStrategy implements IGhostStrategy {
+    private final Ghost ghost;
 
-    // ------------ GENERIC BFS WITH TUNNEL + DEBUG SUPPORT ------------
-
-    private int[] bfsTarget(int targetX, int targetY) {
-
-        // Convert ghost position to tile coordinates
-        int blinkyX = Game.getBlinky().getxPos() / 8;
-        int blinkyY = Game.getBlinky().getyPos() / 8;
-
-        boolean[][] walls = Game.getMazeWalls();
-
-        int rows = walls.length;        // Y tiles
-        int cols = walls[0].length;     // X tiles
-
-        boolean[][] visited = new boolean[rows][cols];
-        int[][][] parent = new int[rows][cols][2];
-
-        Queue<int[]> queue = new LinkedList<>();
-        queue.add(new int[]{blinkyX, blinkyY});
-        visited[blinkyY][blinkyX] = true;
-
-        int[][] dirs = {
-                {1, 0}, {-1, 0}, {0, 1}, {0, -1}
-        };
-
-        boolean found = false;
-
-        // ---------------- BFS LOOP ----------------
-        while (!queue.isEmpty()) {
-
-            int[] cur = queue.poll();
-            int cx = cur[0];
-            int cy = cur[1];
-
-            if (cx == targetX && cy == targetY) {
-                found = true;
-                break;
-            }
-
-            for (int[] d : dirs) {
+    // Reused for every answer, callers only read it before the next query
+    private final int[] target = new int[2];
 
-                int nx = cx + d[0];
-                int ny = cy + d[1];
+    public BlinkyStrategy(Ghost ghost) {
+        this.ghost = ghost;
+    }
 
-                // -------- TUNNEL WRAP-AROUND (LEFT/RIGHT) --------
-                if (nx < 0) nx = cols - 1;
-                if (nx >= cols) nx = 0;
+    // ------------ NEXT TILE LOOKUP IN THE PRECOMPUTED MAZE GRAPH ------------
 
-                // -------- NO VERTICAL WRAP --------
-                if (ny < 0 || ny >= rows)
-                    continue;
+    private int[] bfsTarget(int targetX, int targetY) {
 
-                // -------- WALL CHECK --------
-                if (walls[ny][nx]) continue;
-                if (visited[ny][nx]) continue;
+        Game game = ghost.getGame();
+        MazeGraph graph = game.getMazeGraph();
 
-                visited[ny][nx] = true;
-                parent[ny][nx][0] = cx;
-                parent[ny][nx][1] = cy;
+        // Convert ghost position to tile coordinates
+        int from = graph.nodeAt(ghost.getxPos() / 8, ghost.getyPos() / 8);
+        int to = graph.nodeAt(targetX, targetY);
+        int next = graph.nextNode(from, to);
 
-                queue.add(new int[]{nx, ny});
+        // -------- SAFETY FALLBACK --------
+        if (next < 0) {
+            int pacX = game.getPacman().getxPos() / 8;
+            int pacY = game.getPacman().getyPos() / 8;
+            next = graph.nextNode(from, graph.nodeAt(pacX, pacY));
+
+            if (next < 0) {
+                target[0] = game.getPacman().getxPos();
+                target[1] = game.getPacman().getyPos();
+                return target;
             }
         }
 
-        // -------- SAFETY FALLBACK --------
-        if (!found) {
-            int pacX = Game.getPacman().getxPos() / 8;
-            int pacY = Game.getPacman().getyPos() / 8;
-            return bfsTarget(pacX, pacY);
+        // Table lookup, no tile expanded
+        if (PathTrace.LEVEL != PathTrace.OFF) {
+            game.getPathTrace().record(PathTrace.DECISION, game.getTick(), ghost, graph, from, to, next, 0);
         }
 
-        // ---------------- PATH RECONSTRUCTION ----------------
-        LinkedList<int[]> path = new LinkedList<>();
-
-        int cx = targetX;
-        int cy = targetY;
-
-        while (!(cx == blinkyX && cy == blinkyY)) {
-
-            path.addFirst(new int[]{cx, cy});
-
-            int px = parent[cy][cx][0];
-            int py = parent[cy][cx][1];
-
-            cx = px;
-            cy = py;
-        }
-
-        int[] next = path.get(0);
-
-        // ✅✅✅ DEBUG PRINT (PROVES BFS IS ACTIVE EVERY FRAME)
-        System.out.println("BFS TARGET TILE = (" + next[0] + ", " + next[1] + ")");
-
-        return new int[]{ next[0] * 8, next[1] * 8 };
+        target[0] = graph.tileX(next) * 8;
+        target[1] = graph.tileY(next) * 8;
+        return target;
     }
 
     // ---------------- STRATEGY INTERFACE ----------------
@@ -107,8 +56,8 @@ public class BlinkyStrategy implements IGhostStrategy {
     @Override
     public int[] getChaseTargetPosition() {
 
-        int pacX = Game.getPacman().getxPos() / 8;
-        int pacY = Game.getPacman().getyPos() / 8;
+        int pacX = ghost.getGame().getPacman().getxPos() / 8;
+        int pacY = ghost.getGame().getPacman().getyPos() / 8;
 
         return bfsTarget(pacX, pacY);
     }
@@ -117,12 +66,9 @@ public class BlinkyStrategy implements IGhostStrategy {
     @Override
     public int[] getScatterTargetPosition() {
 
-        int pacX = Game.getPacman().getxPos() / 8;
-        int pacY = Game.getPacman().getyPos() / 8;
-
-        // ✅ DEBUG PRINT to show Scatter still follows BFS
-        System.out.println("SCATTER MODE → STILL USING BFS");
+        int pacX = ghost.getGame().getPacman().getxPos() / 8;
+        int pacY = ghost.getGame().getPacman().getyPos() / 8;
 
         return bfsTarget(pacX, pacY);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,15 @@
 package game.ghostStrategies;
 
-import game.Game;
-import game.GameplayPanel;
 import game.entities.ghosts.Ghost;
 import game.utils.Utils;
 
 //Stratégie concrète de Clyde (le fantôme jaune)
 public class ClydeStrategy implements IGhostStrategy{
     private Ghost ghost;
+
+    // Reused for every answer, callers only read it before the next query
+    private final int[] target = new int[2];
+
     public ClydeStrategy(Ghost ghost) {
         this.ghost = ghost;
     }
@@ -15,11 +17,10 @@ public class ClydeStrategy implements IGhostStrategy{
     //Clyde cible directement Pacman s'il est au dela d'un rayon de 8 cases, et sinon il cible sa position de pause
     @Override
     public int[] getChaseTargetPosition() {
-        if (Utils.getDistance(ghost.getxPos(), ghost.getyPos(), Game.getPacman().getxPos(), Game.getPacman().getyPos()) >= 256) {
-            int[] position = new int[2];
-            position[0] = Game.getPacman().getxPos();
-            position[1] = Game.getPacman().getyPos();
-            return position;
+        if (Utils.getDistance(ghost.getxPos(), ghost.getyPos(), ghost.getGame().getPacman().getxPos(), ghost.getGame().getPacman().getyPos()) >= 256) {
+            target[0] = ghost.getGame().getPacman().getxPos();
+            target[1] = ghost.getGame().getPacman().getyPos();
+            return target;
         }else{
             return getScatterTargetPosition();
         }
@@ -28,9 +29,8 @@ public class ClydeStrategy implements IGhostStrategy{
     //En pause, Clyde cible la case en bas à gauche
     @Override
     public int[] getScatterTargetPosition() {
-        int[] position = new int[2];
-        position[0] = 0;
-        position[1] = GameplayPanel.height;
-        return position;
+        target[0] = 0;
+        target[1] = ghost.getGame().getHeight();
+        return target;
     }
 }
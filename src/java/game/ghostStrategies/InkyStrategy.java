@@ -1,13 +1,15 @@
 package game.ghostStrategies;
 
-import game.Game;
-import game.GameplayPanel;
 import game.entities.ghosts.Ghost;
 import game.utils.Utils;
 
 //Stratégie concrète d'Inky (le fantôme bleu)
 public class InkyStrategy implements IGhostStrategy{
     private Ghost otherGhost;
+
+    // Reused for every answer, callers only read it before the next query
+    private final int[] target = new int[2];
+
     public InkyStrategy(Ghost ghost) {
         this.otherGhost = ghost;
     }
@@ -15,22 +17,17 @@ public class InkyStrategy implements IGhostStrategy{
     //Inky se base sur la position de Blinky pour cibler Pacman : on prend un vecteur entre la position de Blinky et une case devant Pacman, et additionne ce vecteur à la position une case devant Pacman pour obtenir la cible d'Inky
     @Override
     public int[] getChaseTargetPosition() {
-        int[] position = new int[2];
-        int[] pacmanFacingPosition = Utils.getPointDistanceDirection(Game.getPacman().getxPos(), Game.getPacman().getyPos(), 32d, Utils.directionConverter(Game.getPacman().getDirection()));
+        int[] pacmanFacingPosition = Utils.getPointDistanceDirection(otherGhost.getGame().getPacman().getxPos(), otherGhost.getGame().getPacman().getyPos(), 32d, Utils.directionConverter(otherGhost.getGame().getPacman().getDirection()), target);
         double distanceOtherGhost = Utils.getDistance(pacmanFacingPosition[0], pacmanFacingPosition[1], otherGhost.getxPos(), otherGhost.getyPos());
         double directionOtherGhost = Utils.getDirection(otherGhost.getxPos(), otherGhost.getyPos(), pacmanFacingPosition[0], pacmanFacingPosition[1]);
-        int[] blinkyVectorPosition = Utils.getPointDistanceDirection(pacmanFacingPosition[0], pacmanFacingPosition[1], distanceOtherGhost, directionOtherGhost);
-        position[0] = blinkyVectorPosition[0];
-        position[1] = blinkyVectorPosition[1];
-        return position;
+        return Utils.getPointDistanceDirection(pacmanFacingPosition[0], pacmanFacingPosition[1], distanceOtherGhost, directionOtherGhost, target);
     }
 
     //En pause, Inky cible la case en bas à droite
     @Override
     public int[] getScatterTargetPosition() {
-        int[] position = new int[2];
-        position[0] = GameplayPanel.width;
-        position[1] = GameplayPanel.height;
-        return position;
+        target[0] = otherGhost.getGame().getWidth();
+        target[1] = otherGhost.getGame().getHeight();
+        return target;
     }
 }
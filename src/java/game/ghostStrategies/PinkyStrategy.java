@@ -1,26 +1,61 @@
 package game.ghostStrategies;
 
-import game.Game;
+import game.entities.Pacman;
+import game.entities.ghosts.Ghost;
+import game.utils.MazeGraph;
+import game.utils.PathCache;
+import game.utils.PathTrace;
 import game.utils.Utils;
 
 //Stratégie concrète de Pinky (le fantôme rose)
 public class PinkyStrategy implements IGhostStrategy {
-    //Pinky cible deux cases devant de Pacman
+    private Ghost ghost;
+
+    //A* path kept between ticks, only searched again when it no longer leads to the target
+    private final PathCache path = new PathCache();
+
+    // Reused for every answer, callers only read it before the next query
+    private final int[] target = new int[2];
+
+    public PinkyStrategy(Ghost ghost) {
+        this.ghost = ghost;
+    }
+
+    public PathCache getPathCache() {
+        return path;
+    }
+
+    //Pinky cible deux cases devant de Pacman : sur la grille, elle suit le plus court chemin (A*) vers cette case
     @Override
     public int[] getChaseTargetPosition() {
-        int[] position = new int[2];
-        int[] pacmanFacingPosition = Utils.getPointDistanceDirection(Game.getPacman().getxPos(), Game.getPacman().getyPos(), 64, Utils.directionConverter(Game.getPacman().getDirection()));
-        position[0] = pacmanFacingPosition[0];
-        position[1] = pacmanFacingPosition[1];
-        return position;
+        Pacman pacman = ghost.getGame().getPacman();
+        Utils.getPointDistanceDirection(pacman.getxPos(), pacman.getyPos(), 64, Utils.directionConverter(pacman.getDirection()), target);
+
+        if (!ghost.onTheGrid()) return target;
+
+        MazeGraph graph = ghost.getGame().getMazeGraph();
+
+        int from = graph.nodeAt(ghost.getxPos() / 8, ghost.getyPos() / 8);
+        int to = graph.nodeAt(Math.max(0, Math.min(graph.getCols() - 1, target[0] / 8)), Math.max(0, Math.min(graph.getRows() - 1, target[1] / 8)));
+
+        //Target in a wall or out of reach : Pinky heads straight for it
+        int next = path.nextNode(graph, from, to);
+        if (PathTrace.LEVEL != PathTrace.OFF) {
+            int expanded = path.getLastExpanded();
+            ghost.getGame().getPathTrace().record(expanded > 0 ? PathTrace.SEARCH : PathTrace.DECISION, ghost.getGame().getTick(), ghost, graph, from, to, next, expanded);
+        }
+        if (next < 0) return target;
+
+        target[0] = graph.tileX(next) * 8;
+        target[1] = graph.tileY(next) * 8;
+        return target;
     }
 
     //En pause, Pinky cible la case en haut à gauche
     @Override
     public int[] getScatterTargetPosition() {
-        int[] position = new int[2];
-        position[0] = 0;
-        position[1] = 0;
-        return position;
+        target[0] = 0;
+        target[1] = 0;
+        return target;
     }
 }
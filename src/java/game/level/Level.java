@@ -0,0 +1,48 @@
+package game.level;
+
+import java.nio.ByteBuffer;
+
+//Tiles of a level, one byte per tile (row by row) holding its character in the csv format :
+//'x' wall, '.' pac-gum, 'o' super pac-gum, '-' ghost house door, 'P' Pac-Man, 'b' 'p' 'i' 'c' the ghosts, ' ' nothing
+//The bytes may be those of a memory-mapped level file, they are read in place
+public class Level {
+    public static final char EMPTY = ' ';
+
+    private final int cols;
+    private final int rows;
+    private final ByteBuffer tiles;
+
+    public Level(int cols, int rows, ByteBuffer tiles) {
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Level of " + cols + "x" + rows + " tiles");
+        }
+        long size = (long) cols * rows;
+        if (size > Integer.MAX_VALUE || tiles.remaining() < size) {
+            throw new IllegalArgumentException("Level of " + cols + "x" + rows + " tiles with only " + tiles.remaining() + " bytes");
+        }
+        this.cols = cols;
+        this.rows = rows;
+        this.tiles = tiles.slice();
+    }
+
+    public Level(int cols, int rows, byte[] tiles) {
+        this(cols, rows, ByteBuffer.wrap(tiles));
+    }
+
+    public char tile(int x, int y) {
+        return (char) (tiles.get(y * cols + x) & 0xFF);
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    //The cols * rows tile bytes, row by row
+    ByteBuffer tiles() {
+        return tiles.duplicate().limit(cols * rows);
+    }
+}
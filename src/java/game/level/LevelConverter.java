@@ -0,0 +1,17 @@
+package game.level;
+
+import java.nio.file.Path;
+
+//Converts a csv level into the binary format : java game.level.LevelConverter level.csv level.lvl
+public class LevelConverter {
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage : java game.level.LevelConverter <level.csv> <level.lvl>");
+            System.exit(1);
+        }
+
+        Level level = LevelIO.readCsv(Path.of(args[0]).toUri());
+        LevelIO.writeBinary(level, Path.of(args[1]));
+        System.out.println(args[0] + " -> " + args[1] + " (" + level.getCols() + "x" + level.getRows() + " tiles)");
+    }
+}
@@ -0,0 +1,106 @@
+package game.level;
+
+import game.utils.CsvReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+//Reading and writing of levels, in the csv format of level.csv or in the binary ".lvl" format :
+//  "PLVL", then the format version, the number of columns and the number of rows (big-endian ints), then one byte per tile, row by row
+//A .lvl file on disk is memory-mapped and its tiles are read in place, without parsing anything
+//A malformed file, csv or binary, is reported with an IllegalArgumentException ; UncheckedIOException is kept for the files which cannot be read
+public class LevelIO {
+    private static final int MAGIC = 0x504C564C; //"PLVL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private LevelIO() {}
+
+    //Loads a level from a .lvl file, or from a csv file for any other extension
+    public static Level load(URI file) {
+        if (file.getPath() != null && file.getPath().endsWith(".lvl")) return readBinary(file);
+        return readCsv(file);
+    }
+
+    public static Level readCsv(URI file) {
+        CsvTiles tiles = new CsvTiles();
+        new CsvReader().parse(file, tiles);
+        return new Level(tiles.cols, tiles.rows, ByteBuffer.wrap(tiles.bytes, 0, tiles.cols * tiles.rows));
+    }
+
+    //Collects the cells of a csv level, row by row, into one growing byte array
+    private static class CsvTiles implements CsvReader.CellHandler {
+        private byte[] bytes = new byte[4096];
+        private int size = 0;
+        private int cols = 0;
+        private int rows = 0;
+
+        @Override
+        public void onCell(int x, int y, char c) {
+            if (size == bytes.length) bytes = Arrays.copyOf(bytes, size * 2);
+            bytes[size++] = (byte) c;
+            if (y == 0) cols = x + 1;
+            rows = y + 1;
+        }
+    }
+
+    public static Level readBinary(URI file) {
+        try {
+            ByteBuffer buffer;
+            if ("file".equals(file.getScheme())) {
+                try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                //Inside a jar, for instance : nothing to map, the bytes are read once
+                try (InputStream in = file.toURL().openStream()) {
+                    buffer = ByteBuffer.wrap(in.readAllBytes());
+                }
+            }
+
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a level file : " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported level file version " + version + " : " + file);
+            }
+            int cols = buffer.getInt();
+            int rows = buffer.getInt();
+            //A corrupt header must not turn into a negative or overflowing tile count
+            if (cols <= 0 || rows <= 0 || (long) cols * rows > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid level size " + cols + "x" + rows + " : " + file);
+            }
+            if (cols * rows > buffer.remaining()) {
+                throw new IllegalArgumentException("Level of " + cols + "x" + rows + " tiles truncated to " + buffer.remaining() + " bytes : " + file);
+            }
+            return new Level(cols, rows, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeBinary(Level level, Path file) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(level.getCols()).putInt(level.getRows());
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header.array());
+            ByteBuffer tiles = level.tiles();
+            byte[] bytes = new byte[tiles.remaining()];
+            tiles.get(bytes);
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
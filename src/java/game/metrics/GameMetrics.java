@@ -0,0 +1,139 @@
+package game.metrics;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//Where the time of a frame goes : one histogram per phase of the game loop, per entity class updated and per ghost state choosing a direction
+//A Game only breaks its update down when metrics are attached to it (Game.setMetrics), so headless runs pay nothing
+public class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "game:type=GameMetrics";
+
+    //Numbers the registered instances, so that several games of a same JVM get their own names
+    private static final AtomicInteger registrations = new AtomicInteger();
+
+    //Name these metrics are registered under, null while they are not
+    private ObjectName objectName;
+
+    private final LatencyHistogram input = new LatencyHistogram();
+    private final LatencyHistogram update = new LatencyHistogram();
+    private final LatencyHistogram render = new LatencyHistogram();
+    private final LatencyHistogram paint = new LatencyHistogram();
+
+    private final Map<Class<?>, LatencyHistogram> entityUpdates = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LatencyHistogram> ghostNextDirections = new ConcurrentHashMap<>();
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder droppedTicks = new LongAdder();
+
+    public LatencyHistogram input() {
+        return input;
+    }
+
+    public LatencyHistogram update() {
+        return update;
+    }
+
+    public LatencyHistogram render() {
+        return render;
+    }
+
+    public LatencyHistogram paint() {
+        return paint;
+    }
+
+    public LatencyHistogram entityUpdate(Class<?> entityClass) {
+        return entityUpdates.computeIfAbsent(entityClass, c -> new LatencyHistogram());
+    }
+
+    public LatencyHistogram ghostNextDirection(Class<?> stateClass) {
+        return ghostNextDirections.computeIfAbsent(stateClass, c -> new LatencyHistogram());
+    }
+
+    public void tick() {
+        ticks.increment();
+    }
+
+    public void addDroppedTicks(long dropped) {
+        if (dropped > 0) droppedTicks.add(dropped);
+    }
+
+    //Registers these metrics with the platform MBean server as OBJECT_NAME + ",instance=N" ; failing to do so only disables the JMX view
+    public synchronized void register() {
+        if (objectName != null) return;
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME + ",instance=" + registrations.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (Exception e) {
+            System.err.println("Could not register " + OBJECT_NAME + " : " + e);
+        }
+    }
+
+    //Removes these metrics from the MBean server, once their game is over
+    public synchronized void unregister() {
+        if (objectName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            System.err.println("Could not unregister " + objectName + " : " + e);
+        }
+        objectName = null;
+    }
+
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getPhases() {
+        Map<String, HistogramSnapshot> phases = new TreeMap<>();
+        phases.put("input", input.snapshot());
+        phases.put("update", update.snapshot());
+        phases.put("render", render.snapshot());
+        phases.put("paint", paint.snapshot());
+        return phases;
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getEntityUpdates() {
+        return snapshots(entityUpdates);
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getGhostNextDirections() {
+        return snapshots(ghostNextDirections);
+    }
+
+    private static Map<String, HistogramSnapshot> snapshots(Map<Class<?>, LatencyHistogram> histograms) {
+        Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((c, h) -> snapshots.put(c.getSimpleName(), h.snapshot()));
+        return snapshots;
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return droppedTicks.sum();
+    }
+
+    @Override
+    public void reset() {
+        input.reset();
+        update.reset();
+        render.reset();
+        paint.reset();
+        entityUpdates.values().forEach(LatencyHistogram::reset);
+        ghostNextDirections.values().forEach(LatencyHistogram::reset);
+        ticks.reset();
+        droppedTicks.reset();
+    }
+}
@@ -0,0 +1,15 @@
+package game.metrics;
+
+import java.util.Map;
+
+//Management interface of GameMetrics, registered as "game:type=GameMetrics,instance=N" (durations in nanoseconds)
+public interface GameMetricsMXBean {
+    Map<String, HistogramSnapshot> getPhases(); //input, update, render and paint
+    Map<String, HistogramSnapshot> getEntityUpdates(); //update() by entity class
+    Map<String, HistogramSnapshot> getGhostNextDirections(); //computeNextDir() by ghost state
+
+    long getTicks();
+    long getDroppedTicks(); //Ticks skipped by the clock because the game fell behind real time
+
+    void reset();
+}
@@ -0,0 +1,40 @@
+package game.metrics;
+
+import java.beans.ConstructorProperties;
+
+//Values read at once from a LatencyHistogram, in nanoseconds (exposed as a composite value over JMX)
+public class HistogramSnapshot {
+    private final long count;
+    private final long p50;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"count", "p50", "p99", "max"})
+    public HistogramSnapshot(long count, long p50, long p99, long max) {
+        this.count = count;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %.1fus  p99 %.1fus  max %.1fus  (n=%d)", p50 / 1000.0, p99 / 1000.0, max / 1000.0, count);
+    }
+}
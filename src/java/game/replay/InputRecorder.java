@@ -0,0 +1,38 @@
+package game.replay;
+
+import java.util.Arrays;
+
+//Records the keys held at each tick of a game ; a tick costs a comparison, and a new run only when the keys change
+//The methods are synchronized so that a recording can be saved from another thread (a shutdown hook, for instance) while the game runs
+public class InputRecorder {
+    private final long seed;
+
+    private byte[] masks = new byte[256];
+    private int[] lengths = new int[256];
+    private int runCount = 0;
+
+    //seed : the seed of the recorded game
+    public InputRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    //Records the keys of one tick, as a mask of InputRecording.UP, DOWN, LEFT and RIGHT
+    public synchronized void record(int mask) {
+        if (runCount > 0 && masks[runCount - 1] == mask) {
+            lengths[runCount - 1]++;
+        } else {
+            if (runCount == masks.length) {
+                masks = Arrays.copyOf(masks, runCount * 2);
+                lengths = Arrays.copyOf(lengths, runCount * 2);
+            }
+            masks[runCount] = (byte) mask;
+            lengths[runCount] = 1;
+            runCount++;
+        }
+    }
+
+    //Copy of what has been recorded so far
+    public synchronized InputRecording toRecording() {
+        return new InputRecording(seed, Arrays.copyOf(masks, runCount), Arrays.copyOf(lengths, runCount), runCount);
+    }
+}
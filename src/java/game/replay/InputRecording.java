@@ -0,0 +1,143 @@
+package game.replay;
+
+import game.utils.KeyHandler;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+//Seed of a game and the keys held at each of its ticks, run-length encoded : a replay of the same seed with the same keys plays the same game
+//Binary format (big-endian) : "PRPL", format version, seed (long), number of ticks, number of runs, then per run its key mask (1 byte) and its length in ticks (varint)
+public class InputRecording {
+    public static final int UP = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 4;
+    public static final int RIGHT = 8;
+
+    private static final int MAGIC = 0x5052504C; //"PRPL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private final long seed;
+    private final int ticks;
+    private final byte[] masks;
+    private final int[] lengths;
+
+    //Runs [0, runCount) of masks/lengths ; the arrays are copied only when longer than runCount
+    InputRecording(long seed, byte[] masks, int[] lengths, int runCount) {
+        this.seed = seed;
+        this.masks = masks.length == runCount ? masks : Arrays.copyOf(masks, runCount);
+        this.lengths = lengths.length == runCount ? lengths : Arrays.copyOf(lengths, runCount);
+
+        int total = 0;
+        for (int length : this.lengths) {
+            total += length;
+        }
+        this.ticks = total;
+    }
+
+    //Key mask (UP, DOWN, LEFT, RIGHT) of the keys currently pressed
+    public static int mask(KeyHandler keys) {
+        return (keys.k_up.isPressed ? UP : 0) | (keys.k_down.isPressed ? DOWN : 0) | (keys.k_left.isPressed ? LEFT : 0) | (keys.k_right.isPressed ? RIGHT : 0);
+    }
+
+    //Presses exactly the keys of "mask"
+    public static void apply(int mask, KeyHandler keys) {
+        keys.k_up.toggle((mask & UP) != 0);
+        keys.k_down.toggle((mask & DOWN) != 0);
+        keys.k_left.toggle((mask & LEFT) != 0);
+        keys.k_right.toggle((mask & RIGHT) != 0);
+    }
+
+    public void write(Path file) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeInt(ticks);
+            out.writeInt(masks.length);
+            for (int i = 0; i < masks.length; i++) {
+                out.writeByte(masks[i]);
+                writeVarint(out, lengths[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static InputRecording read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IllegalArgumentException("Not a replay file : " + file);
+            int version = in.readInt();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported replay file version " + version + " : " + file);
+
+            long seed = in.readLong();
+            int ticks = in.readInt();
+            int runs = in.readInt();
+            //Every run lasts at least one tick and takes at least two bytes : a count beyond that is a corrupt header, not an array size
+            if (ticks < 0 || runs < 0 || runs > ticks || runs > (Files.size(file) - HEADER_SIZE) / 2) {
+                throw new IOException("Corrupted replay file (" + runs + " runs for " + ticks + " ticks) : " + file);
+            }
+
+            byte[] masks = new byte[runs];
+            int[] lengths = new int[runs];
+            long total = 0;
+            for (int i = 0; i < runs; i++) {
+                masks[i] = in.readByte();
+                lengths[i] = readVarint(in);
+                total += lengths[i];
+                if (lengths[i] <= 0 || total > ticks) {
+                    throw new IOException("Corrupted replay file (run " + i + " of " + lengths[i] + " ticks) : " + file);
+                }
+            }
+            if (total != ticks) throw new IOException("Corrupted replay file (" + total + " ticks instead of " + ticks + ") : " + file);
+
+            return new InputRecording(seed, masks, lengths, runs);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated replay file : " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //7 bits per byte, high bit set while more bytes follow
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    //Number of ticks recorded
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getRunCount() {
+        return masks.length;
+    }
+
+    int getMask(int run) {
+        return masks[run];
+    }
+
+    int getLength(int run) {
+        return lengths[run];
+    }
+}
@@ -0,0 +1,32 @@
+package game.replay;
+
+import game.Game;
+import game.simulation.IPacmanController;
+import game.utils.KeyHandler;
+
+//Feeds the keys of a recording back, tick after tick, to the headless loop of SimulationEngine
+public class ReplayController implements IPacmanController {
+    private final InputRecording recording;
+
+    //Current run, and the tick at which it ends
+    private int run = -1;
+    private int runEnd = 0;
+
+    public ReplayController(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    //The ticks are expected in order, from 0 ; past the end of the recording, no key is pressed
+    @Override
+    public void nextInput(Game game, KeyHandler keys, int tick) {
+        if (tick < runEnd) return;
+
+        if (++run < recording.getRunCount()) {
+            runEnd += recording.getLength(run);
+            InputRecording.apply(recording.getMask(run), keys);
+        } else {
+            keys.releaseAll();
+            runEnd = Integer.MAX_VALUE;
+        }
+    }
+}
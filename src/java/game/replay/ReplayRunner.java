@@ -0,0 +1,29 @@
+package game.replay;
+
+import game.simulation.SimulationEngine;
+import game.simulation.SimulationResult;
+
+import java.nio.file.Path;
+
+//Replays a recorded game without a window, as fast as possible : java -Djava.awt.headless=true game.replay.ReplayRunner <file>
+//Record one with -Dpacman.record=<file> (saved when the game exits)
+public class ReplayRunner {
+    public static SimulationResult replay(InputRecording recording) {
+        return new SimulationEngine(new ReplayController(recording), recording.getTicks(), recording.getSeed()).run();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage : java -Djava.awt.headless=true game.replay.ReplayRunner <replay file>");
+            System.exit(1);
+        }
+
+        InputRecording recording = InputRecording.read(Path.of(args[0]));
+        long start = System.nanoTime();
+        SimulationResult result = replay(recording);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Seed " + recording.getSeed() + ", " + recording.getTicks() + " ticks in " + recording.getRunCount() + " runs");
+        System.out.println(result + " replayed in " + elapsed / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,60 @@
+package game.simulation;
+
+import java.util.EnumMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+
+//Aggregated statistics over the results of a batch of episodes
+public class BatchResult {
+    private final List<SimulationResult> results;
+    private final IntSummaryStatistics scores = new IntSummaryStatistics();
+    private final IntSummaryStatistics ticks = new IntSummaryStatistics();
+    private final Map<SimulationResult.EndCause, Integer> endCauses = new EnumMap<>(SimulationResult.EndCause.class);
+    private final long elapsedNanos;
+
+    public BatchResult(List<SimulationResult> results, long elapsedNanos) {
+        this.results = results;
+        this.elapsedNanos = elapsedNanos;
+
+        for (SimulationResult result : results) {
+            scores.accept(result.getScore());
+            ticks.accept(result.getTicks());
+            endCauses.merge(result.getEndCause(), 1, Integer::sum);
+        }
+    }
+
+    //Results in episode order
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    public IntSummaryStatistics getScores() {
+        return scores;
+    }
+
+    public IntSummaryStatistics getTicks() {
+        return ticks;
+    }
+
+    public int getEndCauseCount(SimulationResult.EndCause endCause) {
+        return endCauses.getOrDefault(endCause, 0);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getEpisodesPerSecond() {
+        return results.size() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "Episodes : " + results.size()
+                + "\nScore : mean " + String.format("%.1f", scores.getAverage()) + ", min " + scores.getMin() + ", max " + scores.getMax()
+                + "\nTicks survived : mean " + String.format("%.1f", ticks.getAverage()) + ", min " + ticks.getMin() + ", max " + ticks.getMax()
+                + "\nEnd causes : " + endCauses
+                + "\nThroughput : " + String.format("%.1f", getEpisodesPerSecond()) + " episodes/s";
+    }
+}
@@ -0,0 +1,53 @@
+package game.simulation;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//Runs independent headless episodes concurrently on a fork-join pool and aggregates their results
+//Each episode builds its own Game, so nothing is shared between the worker threads
+public class BatchRunner {
+    private final IntFunction<IPacmanController> controllerFactory;
+    private final int maxTicks;
+    private final int parallelism;
+
+    //controllerFactory gives the controller of each episode from its index (e.g. to seed it) ; the game of episode i is seeded with i
+    public BatchRunner(IntFunction<IPacmanController> controllerFactory, int maxTicks, int parallelism) {
+        this.controllerFactory = controllerFactory;
+        this.maxTicks = maxTicks;
+        this.parallelism = parallelism;
+    }
+
+    public BatchResult run(int episodes) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            List<SimulationResult> results = pool.submit(() -> IntStream.range(0, episodes)
+                    .parallel()
+                    .mapToObj(i -> new SimulationEngine(controllerFactory.apply(i), maxTicks, i).run())
+                    .collect(Collectors.toList())
+            ).get();
+            return new BatchResult(results, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Episode failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    //Entry point : java -Djava.awt.headless=true game.simulation.BatchRunner [episodes] [maxTicks] [threads]
+    public static void main(String[] args) {
+        int episodes = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 60 * 60 * 10;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        BatchResult result = new BatchRunner(i -> new RandomPacmanController(i, 40), maxTicks, threads).run(episodes);
+        System.out.println(result);
+    }
+}
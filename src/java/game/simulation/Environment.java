@@ -0,0 +1,193 @@
+package game.simulation;
+
+import game.Game;
+import game.entities.Entity;
+import game.entities.PacGum;
+import game.entities.SuperPacGum;
+import game.entities.ghosts.Ghost;
+import game.events.GameEventListener;
+import game.ghostStates.*;
+import game.utils.KeyHandler;
+
+import java.util.Arrays;
+import java.util.List;
+
+//Step/reset environment for external agents (e.g. reinforcement learning) driving Pac-Man and/or the ghosts
+//Agents : 0 is Pac-Man, 1..n are the ghosts in Game.getGhosts() order. Action per agent : -1 = no action (Pac-Man keeps going, a ghost follows its own AI), 0 = right, 1 = left, 2 = up, 3 = down
+//
+//Observation layout (all floats, written into the buffer of the StepResult) :
+//  [0, cols * rows)                one value per tile, row by row : 0 = empty, 1 = wall, 2 = pac-gum, 3 = super pac-gum
+//  then for Pac-Man                tile x, tile y, direction
+//  then for each ghost             tile x, tile y, direction, mode (0 = house, 1 = scatter, 2 = chase, 3 = frightened, 4 = eaten)
+public class Environment implements GameEventListener {
+    public static final int NO_ACTION = -1;
+
+    public static final float EMPTY = 0;
+    public static final float WALL = 1;
+    public static final float PAC_GUM = 2;
+    public static final float SUPER_PAC_GUM = 3;
+
+    //Rewards : Pac-Man gets the points it scores and a penalty when caught ; the ghosts share a reward when one of them catches Pac-Man and the eaten ghost is penalised
+    public static final float CAUGHT_PENALTY = -500;
+    public static final float GHOST_CATCH_REWARD = 1;
+    public static final float GHOST_EATEN_PENALTY = -1;
+
+    private static final int PACMAN_FEATURES = 3;
+    private static final int GHOST_FEATURES = 4;
+    private static final int CELL_SIZE = 8;
+
+    private final int maxTicks;
+    private final KeyHandler keys = new KeyHandler();
+
+    private Game game;
+    private List<Ghost> ghosts;
+    private StepResult result;
+    private int cols;
+    private int rows;
+    private int tick;
+    private long seed;
+
+    public Environment(int maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+
+    //Starts a new episode and returns its first observation (rewards at 0)
+    public StepResult reset(long seed) {
+        this.seed = seed;
+        this.tick = 0;
+        keys.releaseAll();
+
+        game = new Game(this, seed);
+        ghosts = game.getGhosts();
+
+        boolean[][] walls = game.getMazeWalls();
+        rows = walls.length;
+        cols = walls[0].length;
+
+        int observationSize = cols * rows + PACMAN_FEATURES + GHOST_FEATURES * ghosts.size();
+        if (result == null || result.getObservation().length != observationSize || result.getRewards().length != ghosts.size() + 1) {
+            result = new StepResult(observationSize, ghosts.size() + 1);
+        }
+
+        //Static part of the maze and the pellets, written once per episode ; eaten pellets are then cleared one by one from the observer callbacks
+        float[] obs = result.getObservation();
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                obs[y * cols + x] = walls[y][x] ? WALL : EMPTY;
+            }
+        }
+        for (Entity e : game.getEntities()) {
+            if (e instanceof PacGum) obs[pelletCell(e.getxPos() - CELL_SIZE, e.getyPos() - CELL_SIZE)] = PAC_GUM;
+            else if (e instanceof SuperPacGum) obs[pelletCell(e.getxPos(), e.getyPos())] = SUPER_PAC_GUM;
+        }
+
+        Arrays.fill(result.getRewards(), 0);
+        result.setDone(false);
+        writeEntities();
+        return result;
+    }
+
+    //Applies one action per agent, plays one tick and returns the new observation, the rewards of this tick and whether the episode is over
+    public StepResult step(int[] actions) {
+        return step(actions, 0);
+    }
+
+    //Same as step(actions), with the actions of this environment starting at actions[offset]
+    public StepResult step(int[] actions, int offset) {
+        Arrays.fill(result.getRewards(), 0);
+
+        keys.releaseAll();
+        switch (actions[offset]) {
+            case 0: keys.k_right.toggle(true); break;
+            case 1: keys.k_left.toggle(true); break;
+            case 2: keys.k_up.toggle(true); break;
+            case 3: keys.k_down.toggle(true); break;
+        }
+        for (int i = 0; i < ghosts.size(); i++) {
+            ghosts.get(i).setForcedDirection(actions[offset + i + 1]);
+        }
+
+        //Pac-Man's reward is the score of the tick, so that it always follows the game's own scoring
+        int score = game.getScore();
+        game.input(keys);
+        game.update();
+        tick++;
+        result.getRewards()[0] += game.getScore() - score;
+
+        result.setDone(game.isOver() || tick >= maxTicks);
+        writeEntities();
+        return result;
+    }
+
+    private void writeEntities() {
+        float[] obs = result.getObservation();
+        int i = cols * rows;
+
+        //Pac-Man then the ghosts, from the game's arrays of moving entities
+        for (int agent = 0; agent <= ghosts.size(); agent++) {
+            obs[i++] = game.getMovingX(agent) / CELL_SIZE;
+            obs[i++] = game.getMovingY(agent) / CELL_SIZE;
+            obs[i++] = game.getMovingDirection(agent);
+            if (agent > 0) obs[i++] = modeOf(ghosts.get(agent - 1).getState());
+        }
+    }
+
+    private static int modeOf(GhostState state) {
+        if (state instanceof ScatterMode) return 1;
+        if (state instanceof ChaseMode) return 2;
+        if (state instanceof FrightenedMode) return 3;
+        if (state instanceof EatenMode) return 4;
+        return 0;
+    }
+
+    private int pelletCell(int x, int y) {
+        return (y / CELL_SIZE) * cols + x / CELL_SIZE;
+    }
+
+    public int getObservationSize() {
+        return result.getObservation().length;
+    }
+
+    public int getAgentCount() {
+        return result.getRewards().length;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // ---------------- EVENTS ----------------
+    //Delivered at the end of the tick : an eaten pellet is already destroyed, but its hitbox keeps its position
+
+    @Override
+    public void onPacGumEaten(PacGum pg) {
+        result.getObservation()[pelletCell(pg.getHitbox().x - CELL_SIZE, pg.getHitbox().y - CELL_SIZE)] = EMPTY;
+    }
+
+    @Override
+    public void onSuperPacGumEaten(SuperPacGum spg) {
+        result.getObservation()[pelletCell(spg.getHitbox().x, spg.getHitbox().y)] = EMPTY;
+    }
+
+    @Override
+    public void onGhostEaten(Ghost gh) {
+        result.getRewards()[ghosts.indexOf(gh) + 1] += GHOST_EATEN_PENALTY;
+    }
+
+    @Override
+    public void onPacmanCaught(Ghost gh) {
+        float[] rewards = result.getRewards();
+        rewards[0] += CAUGHT_PENALTY;
+        for (int i = 1; i < rewards.length; i++) {
+            rewards[i] += GHOST_CATCH_REWARD;
+        }
+    }
+}
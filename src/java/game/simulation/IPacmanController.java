@@ -0,0 +1,9 @@
+package game.simulation;
+
+import game.Game;
+import game.utils.KeyHandler;
+
+//Interface for whatever drives Pac-Man when there is no keyboard : it sets the keys read by Pacman.input before every tick
+public interface IPacmanController {
+    void nextInput(Game game, KeyHandler keys, int tick);
+}
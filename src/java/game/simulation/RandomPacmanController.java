@@ -0,0 +1,30 @@
+package game.simulation;
+
+import game.Game;
+import game.utils.KeyHandler;
+
+import java.util.Random;
+
+//Controller holding one random direction for a fixed number of ticks, enough to move Pac-Man around the maze in batch runs
+public class RandomPacmanController implements IPacmanController {
+    private final Random random;
+    private final int ticksPerDirection;
+
+    public RandomPacmanController(long seed, int ticksPerDirection) {
+        this.random = new Random(seed);
+        this.ticksPerDirection = ticksPerDirection;
+    }
+
+    @Override
+    public void nextInput(Game game, KeyHandler keys, int tick) {
+        if (tick % ticksPerDirection != 0) return;
+
+        keys.releaseAll();
+        switch (random.nextInt(4)) {
+            case 0: keys.k_left.toggle(true); break;
+            case 1: keys.k_right.toggle(true); break;
+            case 2: keys.k_up.toggle(true); break;
+            case 3: keys.k_down.toggle(true); break;
+        }
+    }
+}
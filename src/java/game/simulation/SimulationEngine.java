@@ -0,0 +1,63 @@
+package game.simulation;
+
+import game.Game;
+import game.clock.IGameClock;
+import game.clock.UncappedClock;
+import game.utils.KeyHandler;
+
+//Runs a game without Swing : no window and no rendering, the ticks are paced by an IGameClock (by default an UncappedClock, as fast as the CPU allows)
+//The episode ends when Pac-Man is caught, when the level is cleared or after maxTicks ticks, and a result is returned instead of exiting the JVM
+public class SimulationEngine {
+    private final IPacmanController controller;
+    private final int maxTicks;
+    private final long seed;
+    private final IGameClock clock;
+
+    //"seed" seeds the game itself (the frightened ghosts) ; the controller has its own
+    public SimulationEngine(IPacmanController controller, int maxTicks, long seed) {
+        this(controller, maxTicks, seed, new UncappedClock(1));
+    }
+
+    public SimulationEngine(IPacmanController controller, int maxTicks, long seed, IGameClock clock) {
+        this.controller = controller;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+        this.clock = clock;
+    }
+
+    public SimulationResult run() {
+        Game game = new Game(null, seed);
+        KeyHandler keys = new KeyHandler();
+
+        int tick = 0;
+        while (!game.isOver() && tick < maxTicks) {
+            for (int ticks = clock.awaitFrame(); ticks > 0 && !game.isOver() && tick < maxTicks; ticks--) {
+                controller.nextInput(game, keys, tick);
+                game.input(keys);
+                game.update();
+                tick++;
+            }
+        }
+
+        SimulationResult.EndCause endCause;
+        if (!game.isOver()) {
+            endCause = SimulationResult.EndCause.TICK_LIMIT;
+        } else if (game.isLevelCleared()) {
+            endCause = SimulationResult.EndCause.LEVEL_CLEARED;
+        } else {
+            endCause = SimulationResult.EndCause.CAUGHT_BY_GHOST;
+        }
+        return new SimulationResult(game.getScore(), tick, endCause);
+    }
+
+    //Entry point for batch runs without a display : java -Djava.awt.headless=true game.simulation.SimulationEngine [episodes] [maxTicks]
+    public static void main(String[] args) {
+        int episodes = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 60 * 60 * 10;
+
+        for (int i = 0; i < episodes; i++) {
+            SimulationResult result = new SimulationEngine(new RandomPacmanController(i, 40), maxTicks, i).run();
+            System.out.println("Episode " + i + " : " + result);
+        }
+    }
+}
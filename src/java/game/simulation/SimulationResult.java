@@ -0,0 +1,38 @@
+package game.simulation;
+
+//Result of one headless episode
+public class SimulationResult {
+    public enum EndCause {
+        CAUGHT_BY_GHOST,
+        LEVEL_CLEARED,
+        TICK_LIMIT
+    }
+
+    private final int score;
+    private final int ticks;
+    private final EndCause endCause;
+
+    public SimulationResult(int score, int ticks, EndCause endCause) {
+        this.score = score;
+        this.ticks = ticks;
+        this.endCause = endCause;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    //Number of ticks played before the end of the episode
+    public int getTicks() {
+        return ticks;
+    }
+
+    public EndCause getEndCause() {
+        return endCause;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult{score=" + score + ", ticks=" + ticks + ", endCause=" + endCause + "}";
+    }
+}
@@ -0,0 +1,30 @@
+package game.simulation;
+
+//Output of Environment.step / reset ; the same instance and the same arrays are filled again at every step, so copy them to keep a history
+public class StepResult {
+    private final float[] observation;
+    private final float[] rewards;
+    private boolean done;
+
+    public StepResult(int observationSize, int agentCount) {
+        this.observation = new float[observationSize];
+        this.rewards = new float[agentCount];
+    }
+
+    public float[] getObservation() {
+        return observation;
+    }
+
+    //One reward per agent : index 0 is Pac-Man, then the ghosts in Game.getGhosts() order
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    void setDone(boolean done) {
+        this.done = done;
+    }
+}
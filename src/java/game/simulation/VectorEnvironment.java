@@ -0,0 +1,104 @@
+package game.simulation;
+
+import java.util.stream.IntStream;
+
+//Several Environments stepped in lockstep ; observations and rewards of all of them are packed into shared primitive buffers
+//An environment whose episode is over is reset automatically at the next step, with seed = its previous seed + the number of environments
+public class VectorEnvironment {
+    private final Environment[] environments;
+    private final long[] seeds;
+    private final boolean parallel;
+
+    private final int observationSize;
+    private final int agentCount;
+
+    private final float[] observations;
+    private final float[] rewards;
+    private final boolean[] dones;
+
+    public VectorEnvironment(int count, int maxTicks, boolean parallel) {
+        this.environments = new Environment[count];
+        this.seeds = new long[count];
+        this.parallel = parallel;
+
+        StepResult[] first = new StepResult[count];
+        for (int i = 0; i < count; i++) {
+            environments[i] = new Environment(maxTicks);
+            first[i] = environments[i].reset(i);
+        }
+        observationSize = environments[0].getObservationSize();
+        agentCount = environments[0].getAgentCount();
+
+        observations = new float[count * observationSize];
+        rewards = new float[count * agentCount];
+        dones = new boolean[count];
+
+        //Same state as after reset(0), so that step() may be called first
+        for (int i = 0; i < count; i++) {
+            seeds[i] = i;
+            copy(i, first[i]);
+        }
+    }
+
+    //Resets every environment, environment i with seed (seed + i)
+    public float[] reset(long seed) {
+        for (int i = 0; i < environments.length; i++) {
+            seeds[i] = seed + i;
+            copy(i, environments[i].reset(seeds[i]));
+        }
+        return observations;
+    }
+
+    //actions[i * agentCount + agent] is the action of agent "agent" in environment i
+    public void step(int[] actions) {
+        IntStream indices = IntStream.range(0, environments.length);
+        if (parallel) indices = indices.parallel();
+        indices.forEach(i -> stepOne(i, actions));
+    }
+
+    private void stepOne(int i, int[] actions) {
+        StepResult result;
+        if (dones[i]) {
+            seeds[i] += environments.length;
+            result = environments[i].reset(seeds[i]);
+        } else {
+            result = environments[i].step(actions, i * agentCount);
+        }
+        copy(i, result);
+    }
+
+    private void copy(int i, StepResult result) {
+        System.arraycopy(result.getObservation(), 0, observations, i * observationSize, observationSize);
+        System.arraycopy(result.getRewards(), 0, rewards, i * agentCount, agentCount);
+        dones[i] = result.isDone();
+    }
+
+    public float[] getObservations() {
+        return observations;
+    }
+
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    public int getObservationSize() {
+        return observationSize;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    //Seed of the current episode of environment i
+    public long getSeed(int i) {
+        return seeds[i];
+    }
+
+    public int size() {
+        return environments.length;
+    }
+}
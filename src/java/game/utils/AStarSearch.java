@@ -0,0 +1,177 @@
+package game.utils;
+
+import java.util.Arrays;
+
+//A* search over the tiles of a MazeGraph which allocates nothing once built, so it can run every tick on any maze size without a node cap
+//  - open set : binary heap of tile ids indexed by heapIndex, so a better path to a queued tile is a decrease-key instead of a duplicate entry
+//  - closed set : bitset cleared at the start of each search
+//  - g-scores and parents : only valid for the tiles stamped with the current search number, so they never need clearing
+public class AStarSearch {
+    private final MazeGraph graph;
+
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize = 0;
+
+    private final long[] closed;
+
+    private final int[] gScore;
+    private final int[] fScore;
+    private final int[] parent;
+    private final int[] stamp;
+    private int search = 0;
+
+    private int expanded = 0;
+
+    public AStarSearch(MazeGraph graph) {
+        this.graph = graph;
+
+        int nodes = graph.getNodeCount();
+        heap = new int[nodes];
+        heapIndex = new int[nodes];
+        closed = new long[(nodes + 63) >>> 6];
+        gScore = new int[nodes];
+        fScore = new int[nodes];
+        parent = new int[nodes];
+        stamp = new int[nodes];
+    }
+
+    //Next tile on a shortest path from "from" to "to" (compact indexes of the graph), "to" if already there, or -1 if there is no path
+    public int nextNode(int from, int to) {
+        if (from < 0 || to < 0) return -1;
+        if (from == to) return to;
+        return run(from, to) ? firstStep(from, to) : -1;
+    }
+
+    //Writes a shortest path from "from" to "to" into "path" (both ends included) and returns its number of tiles, or -1 if there is no path
+    public int findPath(int from, int to, int[] path) {
+        if (from < 0 || to < 0) return -1;
+        if (from == to) {
+            path[0] = from;
+            return 1;
+        }
+        if (!run(from, to)) return -1;
+
+        int length = 1;
+        for (int node = to; node != from; node = parent[node]) length++;
+
+        int i = length;
+        for (int node = to; node != from; node = parent[node]) path[--i] = node;
+        path[0] = from;
+        return length;
+    }
+
+    //The search itself : true once "to" is reached, with the path readable from parent[]
+    private boolean run(int from, int to) {
+        expanded = 0;
+
+        if (++search == 0) {
+            //The stamps wrapped around : forget every previous search
+            Arrays.fill(stamp, 0);
+            search = 1;
+        }
+        Arrays.fill(closed, 0);
+        heapSize = 0;
+
+        visit(from, -1, 0, to);
+
+        while (heapSize > 0) {
+            int current = pop();
+            if (current == to) return true;
+            expanded++;
+            closed[current >>> 6] |= 1L << current;
+
+            int g = gScore[current] + 1;
+            for (int d = 0; d < 4; d++) {
+                int next = graph.neighbourOf(current, d);
+                if (next < 0 || (closed[next >>> 6] & (1L << next)) != 0) continue;
+                if (stamp[next] == search && gScore[next] <= g) continue;
+
+                visit(next, current, g, to);
+            }
+        }
+        return false;
+    }
+
+    //Number of tiles expanded by the last search
+    public int getExpanded() {
+        return expanded;
+    }
+
+    //Records a (better) path to "node" and queues it, or moves it up the heap if it is already queued
+    private void visit(int node, int from, int g, int to) {
+        boolean queued = stamp[node] == search;
+        stamp[node] = search;
+        gScore[node] = g;
+        fScore[node] = g + heuristic(node, to);
+        parent[node] = from;
+
+        if (queued) {
+            siftUp(heapIndex[node]);
+        } else {
+            heap[heapSize] = node;
+            heapIndex[node] = heapSize;
+            siftUp(heapSize++);
+        }
+    }
+
+    private int firstStep(int from, int to) {
+        int node = to;
+        while (parent[node] != from) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    //Manhattan distance in tiles, horizontally through the tunnel if it is shorter : never more than the length of a shortest path
+    public int heuristic(int node, int to) {
+        int dx = Math.abs(graph.tileX(node) - graph.tileX(to));
+        int dy = Math.abs(graph.tileY(node) - graph.tileY(to));
+        return Math.min(dx, graph.getCols() - dx) + dy;
+    }
+
+    //On equal f, the tile with the larger g (closer to the target) comes first
+    private boolean before(int a, int b) {
+        if (fScore[a] != fScore[b]) return fScore[a] < fScore[b];
+        return gScore[a] > gScore[b];
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (!before(node, heap[up])) break;
+            heap[i] = heap[up];
+            heapIndex[heap[i]] = i;
+            i = up;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], node)) break;
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+}
@@ -2,29 +2,54 @@ package game.utils;
 
 import game.Game;
 import game.entities.*;
+import game.entities.ghosts.Ghost;
 
 //Classe pour détecter les collision entre deux entités
 public class CollisionDetector {
     private Game game;
 
+    //Spatial index of the ghosts (tile-sized cells), built once the level is loaded ; the pellets are looked up in the game's PelletGrid
+    private SpatialGrid ghosts;
+
     public CollisionDetector(Game game) {
         this.game = game;
     }
 
+    //Fills the spatial index with the entities of the game ; ghosts are tracked so that refresh() follows their moves
+    public void buildIndex(int cols, int rows, int cellSize) {
+        ghosts = new SpatialGrid(cols, rows, cellSize);
+
+        for (Entity e : game.getEntities()) {
+            if (e instanceof Ghost) ghosts.track(e);
+        }
+    }
+
+    //To call once per tick, after the entities have moved
+    public void refresh() {
+        if (ghosts != null) ghosts.refresh();
+    }
+
     //Détection de collision entre des entités de type collisionCheck et une entité obj ; on renvoie l'entité du type testé en cas de collision
     //Les entités de type collisionCheck ont une hitbox rectangulaire, et on considère ici que la hitbox de l'entité obj est un point (pour la collision entre Pacman et les fantôme, ça permet d'avoir une marge et faire en sorte que le jeu ne soit pas trop punitif)
     public Entity checkCollision(Entity obj, Class<? extends Entity> collisionCheck) {
+        int x = obj.getxPos() + obj.getSize() / 2;
+        int y = obj.getyPos() + obj.getSize() / 2;
+
+        if (collisionCheck == PacGum.class) return game.getPelletGrid().pacGumAt(x, y);
+        if (collisionCheck == SuperPacGum.class) return game.getPelletGrid().superPacGumAt(x, y);
+
+        SpatialGrid grid = gridFor(collisionCheck);
+        if (grid != null) return grid.queryPoint(x, y, collisionCheck);
+
         for (Entity e : game.getEntities()) {
-            if (!e.isDestroyed() && collisionCheck.isInstance(e) && e.getHitbox().contains(obj.getxPos() + obj.getSize() / 2, obj.getyPos() + obj.getSize() / 2)) return e;
+            if (!e.isDestroyed() && collisionCheck.isInstance(e) && e.getHitbox().contains(x, y)) return e;
         }
         return null;
     }
 
-    //Même chose que la méthode précédente, mais toutes les hitboxes sont considérées comme rectangulaires
-    public Entity checkCollisionRect(Entity obj, Class<? extends Entity> collisionCheck) {
-        for (Entity e : game.getEntities()) {
-            if (!e.isDestroyed() && collisionCheck.isInstance(e) && e.getHitbox().intersects(obj.getHitbox())) return e;
-        }
+    //Grid holding the entities of type "type", or null if that category is not indexed (the query then scans every entity)
+    private SpatialGrid gridFor(Class<? extends Entity> type) {
+        if (Ghost.class.isAssignableFrom(type)) return ghosts;
         return null;
     }
 }
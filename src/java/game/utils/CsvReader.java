@@ -1,31 +1,115 @@
 package game.utils;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Arrays;
 
 //Classe pour gérer la lecture des fichiers csv
+//The file is scanned byte by byte and every cell is handed to a callback as it is read, nothing is kept in memory
+//A level cell is a single character (an empty cell reads as a space) ; cells are separated by ';', with an optional ';' at the end of a row
 public class CsvReader {
-    public List<List<String>> parseCsv(URI file) {
-        List<List<String>> data = new ArrayList<>();
-        try {
-            InputStreamReader reader =  new InputStreamReader(file.toURL().openStream());
-            BufferedReader br = new BufferedReader(reader);
-
-            String line = br.readLine();
-            while(line != null) {
-                List<String> lineData = Arrays.asList(line.split(";"));
-                data.add(lineData);
-                line = br.readLine();
+
+    public interface CellHandler {
+        void onCell(int x, int y, char c);
+    }
+
+    private static final char EMPTY = ' ';
+
+    private URI file;
+    private CellHandler handler;
+
+    //Position in the file (1-based, for the error messages) and in the grid of cells
+    private int line;
+    private int column;
+    private int x;
+    private int y;
+    private int cols;
+    private int blankLines;
+
+    //Current cell : its character, and the number of characters read since the last separator
+    private char cell;
+    private int cellChars;
+    private boolean afterSeparator;
+
+    //Reads every cell of "file", row by row ; a malformed file stops the parse with an IllegalArgumentException giving its line and column
+    public void parse(URI file, CellHandler handler) {
+        this.file = file;
+        this.handler = handler;
+        line = 1;
+        column = 0;
+        x = 0;
+        y = 0;
+        cols = -1;
+        blankLines = 0;
+        cellChars = 0;
+        afterSeparator = false;
+
+        try (InputStream in = file.toURL().openStream()) {
+            byte[] buffer = new byte[1 << 16];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    accept(buffer[i]);
+                }
             }
-            br.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+
+        if (column > 0) endRow();
+        if (y == 0) throw new IllegalArgumentException(file + " : no cells");
+    }
+
+    private void accept(byte b) {
+        if (b == '\r') return;
+        if (b == '\n') {
+            if (column == 0) blankLines++;
+            else endRow();
+            line++;
+            column = 0;
+            return;
         }
-        catch(Exception e) {
-            e.printStackTrace();
+
+        column++;
+        if (blankLines > 0) {
+            throw new IllegalArgumentException(file + ", line " + (line - blankLines) + " : empty row");
         }
-        return data;
+
+        if (b == ';') {
+            endCell();
+            afterSeparator = true;
+            return;
+        }
+        if (b < 0x20 || b > 0x7E) {
+            throw error("unexpected byte 0x" + Integer.toHexString(b & 0xFF));
+        }
+        if (++cellChars > 1) {
+            throw error("more than one character in cell " + (x + 1));
+        }
+        cell = (char) b;
+        afterSeparator = false;
+    }
+
+    private void endCell() {
+        handler.onCell(x, y, cellChars == 0 ? EMPTY : cell);
+        x++;
+        cellChars = 0;
+    }
+
+    private void endRow() {
+        //The last cell of a row has no separator after it, unless the row ends with ';'
+        if (!afterSeparator) endCell();
+
+        if (cols < 0) cols = x;
+        else if (x != cols) throw error(x + " cells in this row, " + cols + " in the first one");
+
+        x = 0;
+        y++;
+        afterSeparator = false;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(file + ", line " + line + ", column " + column + " : " + message);
     }
 }
@@ -0,0 +1,35 @@
+package game.utils;
+
+import java.util.SplittableRandom;
+
+//Random numbers of one game, drawn from a SplittableRandom seeded once : the same seed replays the same game, on any thread
+//Each consumer (a ghost, for instance) takes its own stream with split(), so the numbers it draws do not depend on the others
+public class GameRandom {
+    private final SplittableRandom random;
+
+    public GameRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private GameRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public GameRandom split() {
+        return new GameRandom(random.split());
+    }
+
+    //Entier entre 0 (inclus) et n (exclu)
+    public int nextInt(int n) {
+        return random.nextInt(n);
+    }
+
+    //Entier entre min et max inclus
+    public int nextInt(int min, int max) {
+        return random.nextInt(min, max + 1);
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
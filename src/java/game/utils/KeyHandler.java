@@ -10,7 +10,7 @@ import java.util.ArrayList;
 //Classe pour gérer les inputs
 public class KeyHandler implements KeyListener {
 
-    public static List<Key> keys = new ArrayList<>();
+    public List<Key> keys = new ArrayList<>();
 
     public class Key {
         public boolean isPressed;
@@ -35,6 +35,16 @@ public class KeyHandler implements KeyListener {
         game.addKeyListener(this);
     }
 
+    //Without a panel, the keys are set directly (headless simulation)
+    public KeyHandler() {}
+
+    public void releaseAll() {
+        k_up.toggle(false);
+        k_down.toggle(false);
+        k_left.toggle(false);
+        k_right.toggle(false);
+    }
+
     public void toggle(KeyEvent e, boolean pressed) {
         if (e.getKeyCode() == KeyEvent.VK_LEFT || e.getKeyCode() == KeyEvent.VK_Q) {
             k_left.toggle(pressed);
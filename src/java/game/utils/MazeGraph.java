@@ -0,0 +1,233 @@
+package game.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Precomputed navigation table over the maze tiles: for every (source, target) pair of walkable tiles it stores the direction of the first step of a shortest path
+//The maze never changes during a game, so the table is built once (one BFS per target tile, left/right tunnel included) and every query is a single array read
+//The table grows with the square of the walkable tiles : past MAX_TABLE_SIZE entries it is not built, and each thread keeps the BFS of its last target instead
+public class MazeGraph {
+    //64 MB, about 8000 walkable tiles (the real level has less than 1000)
+    static final long MAX_TABLE_SIZE = 64L << 20;
+
+    //Graphs of the last mazes played, keyed by their walls (least recently used first) ; a few are enough for a batch on one level
+    private static final int SHARED_GRAPHS = 4;
+    private static final Map<MazeKey, MazeGraph> SHARED = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MazeKey, MazeGraph> eldest) {
+            return size() > SHARED_GRAPHS;
+        }
+    };
+
+    //Same direction codes as MovingEntity : 0 = right, 1 = left, 2 = up, 3 = down
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+    private static final byte NO_PATH = -1;
+
+    private final int cols;
+    private final int rows;
+
+    //Compact index of every walkable tile (-1 for a wall), and cell (y * cols + x) of every compact index
+    private final int[] nodeOf;
+    private final int[] cellOf;
+    private final int nodeCount;
+
+    //nextDir[target * nodeCount + source] = direction to take from "source" to get closer to "target" (null when the maze is too large for the table)
+    private final byte[] nextDir;
+
+    //Without the table : BFS of the last target queried by the current thread (the graph is shared by the games of a same level)
+    private final ThreadLocal<TargetRow> lastTarget;
+
+    public MazeGraph(boolean[][] walls) {
+        this(walls, MAX_TABLE_SIZE);
+    }
+
+    //maxTableSize : largest table built, in entries (one per pair of walkable tiles)
+    MazeGraph(boolean[][] walls, long maxTableSize) {
+        rows = walls.length;
+        cols = walls[0].length;
+
+        nodeOf = new int[rows * cols];
+        int count = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                nodeOf[y * cols + x] = walls[y][x] ? -1 : count++;
+            }
+        }
+        nodeCount = count;
+
+        cellOf = new int[nodeCount];
+        for (int cell = 0; cell < nodeOf.length; cell++) {
+            if (nodeOf[cell] >= 0) cellOf[nodeOf[cell]] = cell;
+        }
+
+        if (Math.multiplyExact((long) nodeCount, nodeCount) > maxTableSize) {
+            nextDir = null;
+            lastTarget = ThreadLocal.withInitial(() -> new TargetRow(nodeCount));
+            return;
+        }
+
+        nextDir = new byte[nodeCount * nodeCount];
+        lastTarget = null;
+        int[] queue = new int[nodeCount];
+        for (int target = 0; target < nodeCount; target++) {
+            bfs(target, nextDir, target * nodeCount, queue);
+        }
+    }
+
+    //Graph of a maze with these walls, built once and shared by the games (on any thread) until SHARED_GRAPHS other mazes have been used
+    public static MazeGraph shared(boolean[][] walls) {
+        MazeKey key = new MazeKey(walls);
+        synchronized (SHARED) {
+            return SHARED.computeIfAbsent(key, k -> new MazeGraph(walls));
+        }
+    }
+
+    //Content of a maze : its size and one bit per wall
+    private static final class MazeKey {
+        private final int cols;
+        private final int rows;
+        private final long[] bits;
+        private final int hash;
+
+        MazeKey(boolean[][] walls) {
+            rows = walls.length;
+            cols = walls[0].length;
+            bits = new long[(rows * cols + 63) >>> 6];
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    int cell = y * cols + x;
+                    if (walls[y][x]) bits[cell >>> 6] |= 1L << cell;
+                }
+            }
+            hash = 31 * (31 * cols + rows) + Arrays.hashCode(bits);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MazeKey)) return false;
+            MazeKey other = (MazeKey) o;
+            return cols == other.cols && rows == other.rows && Arrays.equals(bits, other.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    //BFS outward from "target" : when a tile is discovered from its neighbour, the first step from that tile towards the target is to move onto that neighbour
+    //Fills dirs[base + source] for every source
+    private void bfs(int target, byte[] dirs, int base, int[] queue) {
+        Arrays.fill(dirs, base, base + nodeCount, NO_PATH);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = target;
+
+        while (head < tail) {
+            int cur = queue[head++];
+            int cell = cellOf[cur];
+            int cx = cell % cols;
+            int cy = cell / cols;
+
+            for (int d = 0; d < 4; d++) {
+                int next = neighbour(cx, cy, d);
+                if (next < 0 || next == target || dirs[base + next] != NO_PATH) continue;
+
+                //From "next", going back onto "cur" is the opposite of direction d
+                dirs[base + next] = (byte) (d ^ 1);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    //First steps towards one target, recomputed when a thread queries another target
+    private static final class TargetRow {
+        final byte[] dirs;
+        final int[] queue;
+        int target = -1;
+
+        TargetRow(int nodeCount) {
+            dirs = new byte[nodeCount];
+            queue = new int[nodeCount];
+        }
+    }
+
+    private byte direction(int from, int to) {
+        if (nextDir != null) return nextDir[to * nodeCount + from];
+
+        TargetRow row = lastTarget.get();
+        if (row.target != to) {
+            bfs(to, row.dirs, 0, row.queue);
+            row.target = to;
+        }
+        return row.dirs[from];
+    }
+
+    //Compact index of the neighbour in direction d (wrapping through the horizontal tunnel), or -1 for a wall or the top/bottom edge
+    private int neighbour(int x, int y, int d) {
+        int nx = x + DX[d];
+        int ny = y + DY[d];
+
+        if (nx < 0) nx = cols - 1;
+        if (nx >= cols) nx = 0;
+        if (ny < 0 || ny >= rows) return -1;
+
+        return nodeOf[ny * cols + nx];
+    }
+
+    //Compact index of tile (tileX, tileY), or -1 if it is outside the grid or not walkable
+    public int nodeAt(int tileX, int tileY) {
+        if (tileY < 0 || tileY >= rows) return -1;
+        return nodeOf[tileY * cols + Math.floorMod(tileX, cols)];
+    }
+
+    public boolean isWalkable(int tileX, int tileY) {
+        return nodeAt(tileX, tileY) >= 0;
+    }
+
+    //Direction of the first step from "from" to "to", or -1 if there is no path (or from == to)
+    public int nextDirection(int from, int to) {
+        if (from < 0 || to < 0) return NO_PATH;
+        return direction(from, to);
+    }
+
+    //Next tile (compact index) on a shortest path from "from" to "to", "to" itself if already there, or -1 if there is no path
+    public int nextNode(int from, int to) {
+        if (from < 0 || to < 0) return -1;
+        if (from == to) return to;
+
+        int d = direction(from, to);
+        if (d == NO_PATH) return -1;
+
+        int cell = cellOf[from];
+        return neighbour(cell % cols, cell / cols, d);
+    }
+
+    //Neighbour of "node" in direction d (same codes and tunnel as nextDirection), or -1 if it is not walkable
+    public int neighbourOf(int node, int d) {
+        int cell = cellOf[node];
+        return neighbour(cell % cols, cell / cols, d);
+    }
+
+    public int tileX(int node) {
+        return cellOf[node] % cols;
+    }
+
+    public int tileY(int node) {
+        return cellOf[node] / cols;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
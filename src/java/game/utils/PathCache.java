@@ -0,0 +1,92 @@
+package game.utils;
+
+//Shortest path of one ghost, kept from tick to tick so that A* only runs again when the path can no longer be trusted
+//  - the ghost is still on the path (same tile, or the next one) and the target has not moved : the next tile is read from the path
+//  - the target stepped back onto the path : the path is cut, a part of a shortest path being a shortest path itself
+//  - the target moved one tile further : the path is extended, as long as its new length equals the lower bound of the heuristic (so it is still a shortest one)
+//  - anything else (the ghost left the path, the target jumped, another maze) : a new search
+//A target found out of reach stays so until the ghost or the target moves
+public class PathCache {
+    private MazeGraph graph;
+    private AStarSearch search;
+
+    //Tiles of the current path, the ghost being on path[position]
+    private int[] path;
+    private int length = 0;
+    private int position = 0;
+
+    //Last pair found to have no path, so that an unreachable target is not searched again every tick
+    private int unreachableFrom = -1;
+    private int unreachableTo = -1;
+
+    private long queries = 0;
+    private long searches = 0;
+    private int lastExpanded = 0;
+
+    //Next tile on a shortest path from "from" to "to" (compact indexes of "graph"), "to" if already there, or -1 if there is no path
+    public int nextNode(MazeGraph graph, int from, int to) {
+        queries++;
+        lastExpanded = 0;
+        if (from < 0 || to < 0) return -1;
+        if (from == to) return to;
+
+        if (graph != this.graph) {
+            this.graph = graph;
+            this.search = new AStarSearch(graph);
+            this.path = new int[graph.getNodeCount()];
+            length = 0;
+            unreachableFrom = -1;
+        }
+        if (from == unreachableFrom && to == unreachableTo) return -1;
+
+        if (length > 0 && path[position] != from) {
+            if (position + 1 < length && path[position + 1] == from) position++;
+            else length = 0;
+        }
+
+        if (length > 0 && path[length - 1] != to) {
+            int last = path[length - 1];
+            if (length - 2 > position && path[length - 2] == to) {
+                length--;
+            } else if (isNeighbour(last, to) && search.heuristic(from, to) == length - position) {
+                path[length++] = to;
+            } else {
+                length = 0;
+            }
+        }
+
+        if (length == 0 || position + 1 >= length) {
+            searches++;
+            position = 0;
+            length = search.findPath(from, to, path);
+            lastExpanded = search.getExpanded();
+            if (length < 0) {
+                length = 0;
+                unreachableFrom = from;
+                unreachableTo = to;
+                return -1;
+            }
+        }
+        return path[position + 1];
+    }
+
+    private boolean isNeighbour(int node, int other) {
+        for (int d = 0; d < 4; d++) {
+            if (graph.neighbourOf(node, d) == other) return true;
+        }
+        return false;
+    }
+
+    //Tiles expanded to answer the last query, 0 if it was answered from the path
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+
+    public long getQueries() {
+        return queries;
+    }
+
+    public long getSearches() {
+        return searches;
+    }
+}
@@ -0,0 +1,66 @@
+package game.utils;
+
+import game.entities.ghosts.Ghost;
+
+import java.io.PrintStream;
+
+//Trace of the last pathfinding decisions of a game, kept in a ring buffer allocated once and printed on demand (dump), so that nothing is written to the console from the game loop
+//The level is chosen with -Dpacman.trace : "off" (default), "search" (only the answers which ran a search) or "decision" (every answer given to a ghost)
+//LEVEL is a constant, so with the trace off the guarded calls are removed by the JIT
+public class PathTrace {
+    public static final int OFF = 0;
+    public static final int SEARCH = 1;
+    public static final int DECISION = 2;
+
+    public static final int LEVEL = parseLevel(System.getProperty("pacman.trace", "off"));
+    //Number of decisions kept, from -Dpacman.trace.size ; a size below 1 keeps only the last one
+    private static final int CAPACITY = Math.max(1, Integer.getInteger("pacman.trace.size", 4096));
+
+    private final long[] ticks = new long[CAPACITY];
+    private final Ghost[] ghosts = new Ghost[CAPACITY];
+    private final int[] sources = new int[CAPACITY];
+    private final int[] targets = new int[CAPACITY];
+    private final int[] nextTiles = new int[CAPACITY];
+    private final int[] expanded = new int[CAPACITY];
+    private long recorded = 0;
+
+    private static int parseLevel(String level) {
+        switch (level) {
+            case "search": return SEARCH;
+            case "decision": return DECISION;
+            default: return OFF;
+        }
+    }
+
+    //Records that "ghost", on tile "from", was sent to tile "next" on its way to tile "to" (compact indexes of "graph", -1 for none) after expanding "expandedTiles" tiles
+    public void record(int level, long tick, Ghost ghost, MazeGraph graph, int from, int to, int next, int expandedTiles) {
+        if (level > LEVEL) return;
+
+        int i = (int) (recorded++ % CAPACITY);
+        ticks[i] = tick;
+        ghosts[i] = ghost;
+        sources[i] = pack(graph, from);
+        targets[i] = pack(graph, to);
+        nextTiles[i] = pack(graph, next);
+        expanded[i] = expandedTiles;
+    }
+
+    private static int pack(MazeGraph graph, int node) {
+        return node < 0 ? -1 : graph.tileX(node) << 16 | graph.tileY(node);
+    }
+
+    //Prints the recorded decisions, oldest first
+    public void dump(PrintStream out) {
+        long first = Math.max(0, recorded - CAPACITY);
+        out.println("Path trace : " + (recorded - first) + " of " + recorded + " decisions");
+        for (long n = first; n < recorded; n++) {
+            int i = (int) (n % CAPACITY);
+            out.println("tick " + ticks[i] + " " + ghosts[i].getClass().getSimpleName()
+                    + " " + tile(sources[i]) + " -> " + tile(targets[i]) + " next " + tile(nextTiles[i]) + " expanded " + expanded[i]);
+        }
+    }
+
+    private static String tile(int packed) {
+        return packed < 0 ? "(none)" : "(" + (packed >>> 16) + ", " + (packed & 0xFFFF) + ")";
+    }
+}
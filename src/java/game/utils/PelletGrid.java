@@ -0,0 +1,121 @@
+package game.utils;
+
+import game.entities.PacGum;
+import game.entities.StaticEntity;
+import game.entities.SuperPacGum;
+
+//Bitmaps of the tiles holding a PacGum or covered by a SuperPacGum, with the number of pellets left
+//Finding the pellet under a point is a bit test on its tile, and the PacGums left are found by walking the set bits (see GameRenderer)
+public class PelletGrid {
+    private final int cols;
+    private final int rows;
+    private final int cellSize;
+
+    //Bit (ty * cols + tx) is set while a pellet of that kind covers tile (tx, ty)
+    private final long[] pacGums;
+    private final long[] superPacGums;
+
+    //Pellet of each kind covering each tile (null when there is none)
+    private final StaticEntity[] pacGumAt;
+    private final StaticEntity[] superPacGumAt;
+
+    private int remaining = 0;
+
+    public PelletGrid(int cols, int rows, int cellSize) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+
+        int words = (cols * rows + 63) >>> 6;
+        pacGums = new long[words];
+        superPacGums = new long[words];
+        pacGumAt = new StaticEntity[cols * rows];
+        superPacGumAt = new StaticEntity[cols * rows];
+    }
+
+    public void add(PacGum pg) {
+        mark(pacGums, pacGumAt, pg, true);
+        remaining++;
+    }
+
+    public void add(SuperPacGum spg) {
+        mark(superPacGums, superPacGumAt, spg, true);
+        remaining++;
+    }
+
+    //Marks a pellet eaten ; to call before it is destroyed, while its hitbox is still the indexed one
+    public void remove(StaticEntity pellet) {
+        boolean isSuper = pellet instanceof SuperPacGum;
+        if (mark(isSuper ? superPacGums : pacGums, isSuper ? superPacGumAt : pacGumAt, pellet, false)) remaining--;
+    }
+
+    //Sets (or clears) the bits of every tile the pellet's hitbox covers ; false if there was nothing to clear
+    private boolean mark(long[] layer, StaticEntity[] at, StaticEntity pellet, boolean present) {
+        boolean changed = present;
+        int minX = Math.max(0, pellet.getHitbox().x / cellSize);
+        int minY = Math.max(0, pellet.getHitbox().y / cellSize);
+        int maxX = Math.min(cols - 1, (pellet.getHitbox().x + pellet.getHitbox().width - 1) / cellSize);
+        int maxY = Math.min(rows - 1, (pellet.getHitbox().y + pellet.getHitbox().height - 1) / cellSize);
+
+        for (int ty = minY; ty <= maxY; ty++) {
+            for (int tx = minX; tx <= maxX; tx++) {
+                int tile = ty * cols + tx;
+                if (present) {
+                    layer[tile >>> 6] |= 1L << tile;
+                    at[tile] = pellet;
+                } else if (at[tile] == pellet) {
+                    layer[tile >>> 6] &= ~(1L << tile);
+                    at[tile] = null;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    //PacGum whose hitbox contains the point (x, y), or null
+    public PacGum pacGumAt(int x, int y) {
+        return (PacGum) pelletAt(pacGums, pacGumAt, x, y);
+    }
+
+    //SuperPacGum whose hitbox contains the point (x, y), or null
+    public SuperPacGum superPacGumAt(int x, int y) {
+        return (SuperPacGum) pelletAt(superPacGums, superPacGumAt, x, y);
+    }
+
+    private StaticEntity pelletAt(long[] layer, StaticEntity[] at, int x, int y) {
+        if (x < 0 || y < 0) return null;
+        int tx = x / cellSize;
+        int ty = y / cellSize;
+        if (tx >= cols || ty >= rows) return null;
+
+        int tile = ty * cols + tx;
+        if ((layer[tile >>> 6] & (1L << tile)) == 0) return null;
+
+        //The tile only tells where to look : a PacGum is smaller than its tile
+        StaticEntity pellet = at[tile];
+        return pellet.getHitbox().contains(x, y) ? pellet : null;
+    }
+
+    //First tile at or after "from" holding a PacGum, or -1 ; for (int t = nextPacGum(0); t >= 0; t = nextPacGum(t + 1)) walks them all
+    public int nextPacGum(int from) {
+        if (from >= cols * rows) return -1;
+
+        int w = from >>> 6;
+        long word = pacGums[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == pacGums.length) return -1;
+            word = pacGums[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    //PacGum covering the tile, null if none
+    public PacGum getPacGum(int tile) {
+        return (PacGum) pacGumAt[tile];
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+}
@@ -0,0 +1,54 @@
+package game.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Images shared by every entity and every game of the JVM : each resource is decoded once, converted to an image type compatible with the screen, and then reused
+//The returned images are shared, so they must never be drawn into
+public class ResourceCache {
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    //Image at the given classpath location (e.g. "img/pacman.png"), or null if it cannot be read
+    public static BufferedImage getImage(String path) {
+        return images.computeIfAbsent(path, ResourceCache::loadImage);
+    }
+
+    private static BufferedImage loadImage(String path) {
+        URL url = ResourceCache.class.getClassLoader().getResource(path);
+        if (url == null) {
+            System.err.println("ERROR: Could not find resource " + path);
+            return null;
+        }
+
+        try {
+            BufferedImage decoded = ImageIO.read(url);
+            return decoded == null ? null : toCompatibleImage(decoded);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        BufferedImage converted;
+        if (GraphicsEnvironment.isHeadless()) {
+            if (image.getType() == BufferedImage.TYPE_INT_ARGB) return image;
+            converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            if (image.getColorModel().equals(gc.getColorModel(Transparency.TRANSLUCENT))) return image;
+            converted = gc.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        }
+
+        Graphics2D g = converted.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+}
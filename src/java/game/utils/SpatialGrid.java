@@ -0,0 +1,147 @@
+package game.utils;
+
+import game.entities.Entity;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+//Uniform grid of cells (one per maze tile) holding the entities of one category, so a collision query only looks at the entities of the cell(s) it touches
+//Each entity is stored in every cell its bounds overlap ; moving entities are tracked and re-bucketed by refresh() once they have changed position
+public class SpatialGrid {
+    private final int cellSize;
+    private final int cols;
+    private final int rows;
+
+    //Slots of the entities in each cell
+    private final int[][] cellSlots;
+    private final int[] cellCounts;
+
+    //Entity and indexed bounds of each slot
+    private Entity[] entities = new Entity[16];
+    private int[] boundsX = new int[16];
+    private int[] boundsY = new int[16];
+    private int[] boundsSize = new int[16];
+    private boolean[] moving = new boolean[16];
+    private int slotCount = 0;
+
+    private final Map<Entity, Integer> slotOf = new IdentityHashMap<>();
+
+    public SpatialGrid(int cols, int rows, int cellSize) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.cellSlots = new int[cols * rows][];
+        this.cellCounts = new int[cols * rows];
+    }
+
+    //Adds an entity which never moves (its bounds are read once)
+    public void add(Entity e) {
+        insert(e, false);
+    }
+
+    //Adds an entity whose position is followed by refresh()
+    public void track(Entity e) {
+        insert(e, true);
+    }
+
+    //Moves the tracked entities which changed position since the last refresh into their new cells
+    public void refresh() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!moving[slot]) continue;
+            Entity e = entities[slot];
+            if (e.getxPos() == boundsX[slot] && e.getyPos() == boundsY[slot]) continue;
+
+            unbucket(slot);
+            boundsX[slot] = e.getxPos();
+            boundsY[slot] = e.getyPos();
+            bucket(slot);
+        }
+    }
+
+    //First live entity of type "type" whose bounds contain the point (x, y), or null ; the bounds are those of the last refresh, read from the slot arrays
+    //A point outside the grid is looked up in the nearest edge cell, where bucket() keeps the entities which are (partly) off-screen, in the tunnel for instance
+    public Entity queryPoint(int x, int y, Class<? extends Entity> type) {
+        int cx = Math.min(cols - 1, Math.max(0, Math.floorDiv(x, cellSize)));
+        int cy = Math.min(rows - 1, Math.max(0, Math.floorDiv(y, cellSize)));
+
+        int cell = cy * cols + cx;
+        int[] slots = cellSlots[cell];
+        for (int i = 0; i < cellCounts[cell]; i++) {
+            int slot = slots[i];
+            int ex = boundsX[slot];
+            int ey = boundsY[slot];
+            int size = boundsSize[slot];
+            if (x < ex || x >= ex + size || y < ey || y >= ey + size) continue;
+
+            Entity e = entities[slot];
+            if (!e.isDestroyed() && type.isInstance(e)) return e;
+        }
+        return null;
+    }
+
+    private void insert(Entity e, boolean isMoving) {
+        if (slotOf.containsKey(e)) return;
+
+        if (slotCount == entities.length) {
+            int capacity = slotCount * 2;
+            entities = Arrays.copyOf(entities, capacity);
+            boundsX = Arrays.copyOf(boundsX, capacity);
+            boundsY = Arrays.copyOf(boundsY, capacity);
+            boundsSize = Arrays.copyOf(boundsSize, capacity);
+            moving = Arrays.copyOf(moving, capacity);
+        }
+
+        int slot = slotCount++;
+        entities[slot] = e;
+        boundsX[slot] = e.getxPos();
+        boundsY[slot] = e.getyPos();
+        boundsSize[slot] = e.getSize();
+        moving[slot] = isMoving;
+        slotOf.put(e, slot);
+        bucket(slot);
+    }
+
+    private void bucket(int slot) {
+        int minX = Math.max(0, Math.floorDiv(boundsX[slot], cellSize));
+        int minY = Math.max(0, Math.floorDiv(boundsY[slot], cellSize));
+        int maxX = Math.min(cols - 1, Math.floorDiv(boundsX[slot] + boundsSize[slot] - 1, cellSize));
+        int maxY = Math.min(rows - 1, Math.floorDiv(boundsY[slot] + boundsSize[slot] - 1, cellSize));
+
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int cell = cy * cols + cx;
+                int[] slots = cellSlots[cell];
+                if (slots == null) {
+                    slots = cellSlots[cell] = new int[4];
+                } else if (cellCounts[cell] == slots.length) {
+                    slots = cellSlots[cell] = Arrays.copyOf(slots, slots.length * 2);
+                }
+                slots[cellCounts[cell]++] = slot;
+            }
+        }
+    }
+
+    private void unbucket(int slot) {
+        int minX = Math.max(0, Math.floorDiv(boundsX[slot], cellSize));
+        int minY = Math.max(0, Math.floorDiv(boundsY[slot], cellSize));
+        int maxX = Math.min(cols - 1, Math.floorDiv(boundsX[slot] + boundsSize[slot] - 1, cellSize));
+        int maxY = Math.min(rows - 1, Math.floorDiv(boundsY[slot] + boundsSize[slot] - 1, cellSize));
+
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int cell = cy * cols + cx;
+                int[] slots = cellSlots[cell];
+                int count = cellCounts[cell];
+                for (int i = 0; i < count; i++) {
+                    if (slots[i] == slot) {
+                        //Keeps the remaining slots in insertion order
+                        System.arraycopy(slots, i + 1, slots, i, count - i - 1);
+                        cellCounts[cell]--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package game.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+//Sprite sheet cut once into separate frames, indexed by [direction][subimage], so that rendering is a lookup followed by drawImage
+//The sheets are laid out as in MovingEntity.render : for each direction, its subimages side by side
+//Every frame is copied into an image compatible with the screen (when there is one) so that Java2D can keep it accelerated
+public class SpriteAtlas {
+    private final BufferedImage[][] frames;
+
+    public SpriteAtlas(BufferedImage sheet, int size, int directions, int subimagesPerDirection) {
+        frames = new BufferedImage[directions][subimagesPerDirection];
+
+        for (int d = 0; d < directions; d++) {
+            for (int i = 0; i < subimagesPerDirection; i++) {
+                BufferedImage frame = createFrame(size);
+                Graphics2D g = frame.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(sheet, 0, 0, size, size,
+                        (d * subimagesPerDirection + i) * size, 0, (d * subimagesPerDirection + i + 1) * size, size, null);
+                g.dispose();
+                frames[d][i] = frame;
+            }
+        }
+    }
+
+    private static BufferedImage createFrame(int size) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    public BufferedImage getFrame(int direction, int subimage) {
+        return frames[direction][subimage];
+    }
+}
@@ -2,7 +2,6 @@ package game.utils;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 
 //Classe regroupant différentes fonctions utiles
 public class Utils {
@@ -26,8 +25,8 @@ public class Utils {
     }
 
     //Fonction pour obtenir le point à partir d'un premier point, d'un angle et d'une distance
-    public static int[] getPointDistanceDirection(int x, int y, double distance, double direction) {
-        int[] point = new int[2];
+    //The point is written into "point" (which may hold x and y) and returned, so that a per-tick query allocates nothing
+    public static int[] getPointDistanceDirection(int x, int y, double distance, double direction, int[] point) {
         point[0] = x + (int)(Math.cos(direction) * distance);
         point[1] = y + (int)(Math.sin(direction) * distance);
         return point;
@@ -37,21 +36,4 @@ public class Utils {
     public static double directionConverter(int spriteDirection) {
         return directionConverterMap.get(spriteDirection);
     }
-
-    //Fonction pour générer un entier entre 0 et n
-    public static int randomInt(int n) {
-        Random r = new Random();
-        return r.nextInt(n);
-    }
-
-    //Fonction pour générer un entier entre x et y inclus
-    public static int randomInt(int min, int max) {
-        Random r = new Random();
-        return r.nextInt(max-min) + min;
-    }
-
-    //Fonction pour générer un booléen aléatoire
-    public static boolean randomBool() {
-        return (randomInt(1) == 1);
-    }
 }
@@ -0,0 +1,66 @@
+package game.utils;
+
+//Packed bitset of the tiles occupied by walls, one row of 64-bit words per tile row, with the ghost house doors on a separate layer
+//A wall test on a square hitbox becomes one masked word test per covered row, without allocating anything
+public class WallOccupancyGrid {
+    private final int cols;
+    private final int rows;
+    private final int cellSize;
+    private final int wordsPerRow;
+
+    private final long[] walls;
+    private final long[] ghostHouses;
+
+    public WallOccupancyGrid(int cols, int rows, int cellSize) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.wordsPerRow = (cols + 63) >>> 6;
+
+        walls = new long[rows * wordsPerRow];
+        ghostHouses = new long[rows * wordsPerRow];
+    }
+
+    public void addWall(int tileX, int tileY) {
+        set(walls, tileX, tileY);
+    }
+
+    public void addGhostHouse(int tileX, int tileY) {
+        set(ghostHouses, tileX, tileY);
+    }
+
+    private void set(long[] layer, int tileX, int tileY) {
+        layer[tileY * wordsPerRow + (tileX >>> 6)] |= 1L << tileX;
+    }
+
+    //Same result as intersecting the square (x, y, size) with the hitbox of every wall (and ghost house door, unless ignored)
+    public boolean intersects(int x, int y, int size, boolean ignoreGhostHouses) {
+        int minX = Math.max(0, Math.floorDiv(x, cellSize));
+        int minY = Math.max(0, Math.floorDiv(y, cellSize));
+        int maxX = Math.min(cols - 1, Math.floorDiv(x + size - 1, cellSize));
+        int maxY = Math.min(rows - 1, Math.floorDiv(y + size - 1, cellSize));
+        if (minX > maxX || minY > maxY) return false;
+
+        int firstWord = minX >>> 6;
+        int lastWord = maxX >>> 6;
+
+        for (int ty = minY; ty <= maxY; ty++) {
+            int row = ty * wordsPerRow;
+            for (int w = firstWord; w <= lastWord; w++) {
+                long mask = -1L;
+                if (w == firstWord) mask &= -1L << minX;
+                if (w == lastWord) mask &= -1L >>> (63 - (maxX & 63));
+
+                long occupied = walls[row + w];
+                if (!ignoreGhostHouses) occupied |= ghostHouses[row + w];
+                if ((occupied & mask) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isWall(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0 || tileX >= cols || tileY >= rows) return false;
+        return (walls[tileY * wordsPerRow + (tileX >>> 6)] & (1L << tileX)) != 0;
+    }
+}